@@ -0,0 +1,75 @@
+package com.sv.core.benchmarks;
+
+import com.sv.core.io.FileHasher;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of `FileHasher` as threads grow, against
+ * a single threaded `InputStream` digest of the same file.
+ * Divide file size by average time to get MB per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChecksumBenchmark {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Param({"256"})
+    private int fileSizeMb;
+
+    @Param({"1", "2", "4", "8"})
+    private int threads;
+
+    private Path file;
+    private FileHasher hasher;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = Files.createTempFile("checksum-bench", ".bin");
+        byte[] block = new byte[1024 * 1024];
+        new Random(fileSizeMb).nextBytes(block);
+        try (OutputStream os = Files.newOutputStream(file)) {
+            for (int i = 0; i < fileSizeMb; i++) {
+                os.write(block);
+            }
+        }
+        hasher = new FileHasher(FileHasher.DEFAULT_ALGORITHM, FileHasher.DEFAULT_CHUNK_SIZE, threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public byte[] streamDigest() throws IOException, NoSuchAlgorithmException {
+        MessageDigest md = MessageDigest.getInstance(FileHasher.DEFAULT_ALGORITHM);
+        byte[] buf = new byte[BUFFER_SIZE];
+        try (InputStream is = Files.newInputStream(file)) {
+            int n;
+            while ((n = is.read(buf)) > 0) {
+                md.update(buf, 0, n);
+            }
+        }
+        return md.digest();
+    }
+
+    @Benchmark
+    public FileHasher.FileHash treeHash() throws IOException {
+        return hasher.hash(file);
+    }
+}
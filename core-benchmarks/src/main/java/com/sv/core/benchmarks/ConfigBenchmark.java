@@ -0,0 +1,63 @@
+package com.sv.core.benchmarks;
+
+import com.sv.core.config.DefaultConfigs;
+import com.sv.core.logger.MyLogger;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * `DefaultConfigs.getIntConfig` for present and missing names.
+ * Configs load from ./conf.config, which is created for the run
+ * if it does not exist.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigBenchmark {
+
+    private static final Path CONFIG_FILE = Paths.get("./conf.config");
+
+    private Path logFile;
+    private MyLogger logger;
+    private DefaultConfigs configs;
+    private boolean createdConfig;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        if (Files.notExists(CONFIG_FILE)) {
+            Files.write(CONFIG_FILE, "BenchInt=12345\n".getBytes());
+            createdConfig = true;
+        }
+        logFile = Files.createTempFile("config-bench", ".log");
+        logger = MyLogger.createLogger(logFile.toString());
+        configs = new DefaultConfigs(logger, new String[]{"BenchInt"});
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        logger.dispose();
+        logger.reset();
+        Files.deleteIfExists(logFile);
+        if (createdConfig) {
+            Files.deleteIfExists(CONFIG_FILE);
+        }
+    }
+
+    @Benchmark
+    public int getIntConfig() {
+        return configs.getIntConfig("BenchInt");
+    }
+
+    @Benchmark
+    public int getIntConfigMissing() {
+        return configs.getIntConfig("MissingInt");
+    }
+}
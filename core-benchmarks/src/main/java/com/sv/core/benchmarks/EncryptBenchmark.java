@@ -0,0 +1,53 @@
+package com.sv.core.benchmarks;
+
+import com.sv.core.EncryptUtils;
+import com.sv.core.PasswordHasher;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.spec.InvalidKeySpecException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PBKDF2 hashing through `EncryptUtils` with legacy parameters
+ * and through the default `PasswordHasher`.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EncryptBenchmark {
+
+    private static final String PASSWORD = "benchmark-password";
+
+    private String salt;
+    private String encoded;
+
+    @Setup(Level.Trial)
+    public void setup() throws NoSuchAlgorithmException {
+        salt = EncryptUtils.getNewSalt();
+        encoded = EncryptUtils.hashPassword(PASSWORD.toCharArray());
+    }
+
+    @Benchmark
+    public String getEncryptedPassword() throws NoSuchAlgorithmException, InvalidKeySpecException {
+        return EncryptUtils.getEncryptedPassword(PASSWORD, salt);
+    }
+
+    @Benchmark
+    public String getNewSalt() throws NoSuchAlgorithmException {
+        return EncryptUtils.getNewSalt();
+    }
+
+    @Benchmark
+    public String hashPassword() {
+        return PasswordHasher.getDefault().hash(PASSWORD.toCharArray());
+    }
+
+    @Benchmark
+    public boolean verifyPassword() {
+        return EncryptUtils.verifyPassword(PASSWORD.toCharArray(), encoded);
+    }
+}
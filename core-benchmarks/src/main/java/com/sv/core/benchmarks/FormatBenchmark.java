@@ -0,0 +1,99 @@
+package com.sv.core.benchmarks;
+
+import com.sv.core.FormatUtils;
+import com.sv.core.Utils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.text.NumberFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares size, number and duration formatting of
+ * `FormatUtils` with the String.format based versions
+ * that `Utils` used before.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatBenchmark {
+
+    private static final long[] SIZES = {512, 1536, 5_000_000, 7_340_032, 3_221_225_472L, 42_949_672_960L};
+
+    private final StringBuilder sb = new StringBuilder(32);
+    private int idx;
+
+    private long nextSize() {
+        idx = (idx + 1) % SIZES.length;
+        return SIZES[idx];
+    }
+
+    @Benchmark
+    public String sizeLegacy() {
+        return legacySizeString(nextSize(), true, true, 2);
+    }
+
+    @Benchmark
+    public String sizeUtils() {
+        return Utils.getSizeString(nextSize());
+    }
+
+    @Benchmark
+    public void sizeAppend(Blackhole bh) {
+        sb.setLength(0);
+        bh.consume(FormatUtils.appendSize(sb, nextSize(), true, true, 2));
+    }
+
+    @Benchmark
+    public String numberLegacy() {
+        return NumberFormat.getNumberInstance().format(nextSize() / 3.0);
+    }
+
+    @Benchmark
+    public void numberAppend(Blackhole bh) {
+        sb.setLength(0);
+        bh.consume(FormatUtils.appendNumber(sb, nextSize() / 3.0));
+    }
+
+    @Benchmark
+    public String secMilliLegacy() {
+        return legacySecMilli(nextSize() % 100_000);
+    }
+
+    @Benchmark
+    public void secMilliAppend(Blackhole bh) {
+        sb.setLength(0);
+        bh.consume(FormatUtils.appendSecMilli(sb, nextSize() % 100_000));
+    }
+
+    private static String legacySizeString(long sz, boolean addBraces, boolean addBSuffix, int digitsAfterDot) {
+        float inKB = (float) sz / 1024;
+        float inMB = inKB / 1024;
+        float inGB = inMB / 1024;
+        String pre = "%s", suf = "B";
+        if (!addBSuffix) {
+            suf = "";
+        }
+        if (addBraces) {
+            pre = "[" + pre;
+            suf += "]";
+        }
+        if (inGB > 1) {
+            return String.format(pre + "G" + suf, String.format("%." + digitsAfterDot + "f", inGB));
+        } else if (inMB > 1) {
+            return String.format(pre + "M" + suf, String.format("%." + digitsAfterDot + "f", inMB));
+        } else if (inKB > 1) {
+            return String.format(pre + "K" + suf, String.format("%." + digitsAfterDot + "f", inKB));
+        }
+        return String.format(pre + suf, sz);
+    }
+
+    private static String legacySecMilli(long diff) {
+        long sec = TimeUnit.MILLISECONDS.toSeconds(diff);
+        long remain = diff - TimeUnit.SECONDS.toMillis(sec);
+        return String.format("%.3f", Double.parseDouble(sec + "." + remain));
+    }
+}
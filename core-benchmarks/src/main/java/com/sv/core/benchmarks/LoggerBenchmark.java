@@ -0,0 +1,58 @@
+package com.sv.core.benchmarks;
+
+import com.sv.core.logger.MyLogger;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * `MyLogger.log` to a file with 1, 4 and 16 threads
+ * writing to the same logger.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggerBenchmark {
+
+    private static final String MESSAGE = "Processing item [42] of batch [benchmark] in [1.234] sec";
+
+    private Path logFile;
+    private MyLogger logger;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        logFile = Files.createTempFile("logger-bench", ".log");
+        logger = MyLogger.createLogger(logFile.toString());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        logger.dispose();
+        logger.reset();
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void log1Thread() {
+        logger.log("INFO", MESSAGE);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void log4Threads() {
+        logger.log("INFO", MESSAGE);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void log16Threads() {
+        logger.log("INFO", MESSAGE);
+    }
+}
@@ -0,0 +1,61 @@
+package com.sv.core.benchmarks;
+
+import com.sv.core.Utils;
+import com.sv.core.io.LineReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * `Utils.readFile`, which holds all lines, against streaming
+ * `LineReader.forEachLine` on large files.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadFileBenchmark {
+
+    @Param({"16", "128"})
+    private int fileSizeMb;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = Files.createTempFile("read-bench", ".txt");
+        long target = fileSizeMb * 1024L * 1024L;
+        long written = 0;
+        try (BufferedWriter w = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; written < target; i++) {
+                String line = "line " + i + " of benchmark file with some text to make it longer";
+                w.write(line);
+                w.newLine();
+                written += line.length() + 1;
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public List<String> readFile() {
+        return Utils.readFile(file.toString(), null);
+    }
+
+    @Benchmark
+    public long forEachLine() throws IOException {
+        return LineReader.forEachLine(file, StandardCharsets.UTF_8, (line, n) -> true);
+    }
+}
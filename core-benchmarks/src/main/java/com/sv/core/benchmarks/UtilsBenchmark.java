@@ -0,0 +1,91 @@
+package com.sv.core.benchmarks;
+
+import com.sv.core.StringMatcher;
+import com.sv.core.Utils;
+import com.sv.core.logger.MyLogger;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * String, parsing and reflection helpers of `Utils`.
+ * Size strings are covered by `FormatBenchmark`.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UtilsBenchmark {
+
+    private static final String[] WORDS = {
+            "apple", "banana", "cherry", "date", "elderberry", "fig", "grape", "honeydew",
+            "kiwi", "lemon", "mango", "nectarine", "orange", "papaya", "quince", "raspberry"
+    };
+
+    private final String plainText = "Plain text without any html characters in it, only words";
+    private final String htmlText = "<b>Tom & Jerry</b> said \"hi\" to 'everyone' <br>";
+    private final StringMatcher matcher = new StringMatcher(WORDS);
+    private final Target target = new Target();
+
+    private Path logFile;
+    private MyLogger logger;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        logFile = Files.createTempFile("utils-bench", ".log");
+        logger = MyLogger.createLogger(logFile.toString());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        logger.dispose();
+        logger.reset();
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public String escapePlain() {
+        return Utils.escape(plainText);
+    }
+
+    @Benchmark
+    public String escapeHtml() {
+        return Utils.escape(htmlText);
+    }
+
+    @Benchmark
+    public boolean isInArray() {
+        return Utils.isInArray(WORDS, "Raspberry");
+    }
+
+    @Benchmark
+    public boolean isInArrayMatcher() {
+        return Utils.isInArray(matcher, "Raspberry");
+    }
+
+    @Benchmark
+    public int convertToIntGood() {
+        return Utils.convertToInt("123456789", -1);
+    }
+
+    @Benchmark
+    public int convertToIntBad() {
+        return Utils.convertToInt("12345x789", -1);
+    }
+
+    @Benchmark
+    public Object callMethod() {
+        return Utils.callMethod(target, "getName", null, logger);
+    }
+
+    public static class Target {
+        public String getName() {
+            return "target";
+        }
+    }
+}
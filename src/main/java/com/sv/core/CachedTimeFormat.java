@@ -0,0 +1,67 @@
+package com.sv.core;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Date time formatter that remembers text of the last formatted second.
+ * Meant for patterns without fraction of seconds, stamping many
+ * records in the same second then costs a single format call.
+ * <p>
+ * Zone is taken at creation. Instances are thread safe.
+ */
+public final class CachedTimeFormat {
+
+    private static final long MILLIS_IN_SEC = 1000;
+
+    private final DateTimeFormatter formatter;
+    private volatile Entry last = new Entry(Long.MIN_VALUE, null);
+
+    public CachedTimeFormat(String pattern) {
+        this(DateTimeFormatter.ofPattern(pattern));
+    }
+
+    public CachedTimeFormat(DateTimeFormatter formatter) {
+        this.formatter = formatter.withZone(ZoneId.systemDefault());
+    }
+
+    /**
+     * Returns formatted text for epoch milli seconds
+     *
+     * @param epochMillis time to format
+     * @return formatted string
+     */
+    public String format(long epochMillis) {
+        long sec = Math.floorDiv(epochMillis, MILLIS_IN_SEC);
+        Entry e = last;
+        if (e.sec != sec) {
+            e = new Entry(sec, formatter.format(Instant.ofEpochSecond(sec)));
+            last = e;
+        }
+        return e.text;
+    }
+
+    /**
+     * Returns formatted text for now as per {@link CoarseClock}
+     *
+     * @return formatted string
+     */
+    public String formatNow() {
+        return format(CoarseClock.currentTimeMillis());
+    }
+
+    public DateTimeFormatter getFormatter() {
+        return formatter;
+    }
+
+    private static final class Entry {
+        private final long sec;
+        private final String text;
+
+        Entry(long sec, String text) {
+            this.sec = sec;
+            this.text = text;
+        }
+    }
+}
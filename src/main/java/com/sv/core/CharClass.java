@@ -0,0 +1,193 @@
+package com.sv.core;
+
+import java.util.Arrays;
+
+/**
+ * Immutable set of characters backed by a bitset.
+ * Membership check is a single array lookup and mask,
+ * set operations return a new instance.
+ */
+public final class CharClass {
+
+    private static final int WORD_BITS = 64;
+    private static final int WORD_SHIFT = 6;
+
+    public static final CharClass NONE = new CharClass(new long[0]);
+    public static final CharClass DIGITS = range('0', '9');
+    public static final CharClass UPPER = range('A', 'Z');
+    public static final CharClass LOWER = range('a', 'z');
+    public static final CharClass ALPHABETS = UPPER.union(LOWER);
+    public static final CharClass ALPHA_NUM = ALPHABETS.union(DIGITS);
+
+    private final long[] words;
+
+    private CharClass(long[] words) {
+        this.words = words;
+    }
+
+    public static CharClass of(char... chars) {
+        long[] w = new long[0];
+        for (char c : chars) {
+            w = set(w, c);
+        }
+        return new CharClass(w);
+    }
+
+    public static CharClass of(Character[] chars) {
+        long[] w = new long[0];
+        for (Character c : chars) {
+            w = set(w, c);
+        }
+        return new CharClass(w);
+    }
+
+    public static CharClass of(String chars) {
+        return of(chars.toCharArray());
+    }
+
+    /**
+     * Characters from and to both inclusive
+     *
+     * @param from first char
+     * @param to   last char
+     * @return char class
+     */
+    public static CharClass range(char from, char to) {
+        long[] w = new long[0];
+        for (int c = from; c <= to; c++) {
+            w = set(w, (char) c);
+        }
+        return new CharClass(w);
+    }
+
+    public boolean contains(char ch) {
+        int idx = ch >>> WORD_SHIFT;
+        return idx < words.length && (words[idx] & (1L << ch)) != 0;
+    }
+
+    /**
+     * Returns true if every char of data is in this class
+     *
+     * @param data to check
+     * @return boolean status
+     */
+    public boolean matchesAll(CharSequence data) {
+        for (int i = 0; i < data.length(); i++) {
+            if (!contains(data.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns index of first char of data that is in this class
+     *
+     * @param data to check
+     * @return index or -1
+     */
+    public int indexIn(CharSequence data) {
+        for (int i = 0; i < data.length(); i++) {
+            if (contains(data.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Keeps only chars that are in this class.  Same object
+     * is returned if all chars are kept.
+     *
+     * @param data to filter
+     * @return filtered string
+     */
+    public String filter(String data) {
+        int len = data.length();
+        char[] buf = new char[len];
+        int n = 0;
+        for (int i = 0; i < len; i++) {
+            char c = data.charAt(i);
+            if (contains(c)) {
+                buf[n++] = c;
+            }
+        }
+        return n == len ? data : new String(buf, 0, n);
+    }
+
+    public CharClass union(CharClass other) {
+        long[] w = Arrays.copyOf(words, Math.max(words.length, other.words.length));
+        for (int i = 0; i < other.words.length; i++) {
+            w[i] |= other.words[i];
+        }
+        return new CharClass(w);
+    }
+
+    public CharClass intersection(CharClass other) {
+        long[] w = Arrays.copyOf(words, Math.min(words.length, other.words.length));
+        for (int i = 0; i < w.length; i++) {
+            w[i] &= other.words[i];
+        }
+        return new CharClass(trim(w));
+    }
+
+    public CharClass difference(CharClass other) {
+        long[] w = words.clone();
+        int l = Math.min(w.length, other.words.length);
+        for (int i = 0; i < l; i++) {
+            w[i] &= ~other.words[i];
+        }
+        return new CharClass(trim(w));
+    }
+
+    public int size() {
+        int n = 0;
+        for (long w : words) {
+            n += Long.bitCount(w);
+        }
+        return n;
+    }
+
+    public boolean isEmpty() {
+        return words.length == 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof CharClass && Arrays.equals(words, ((CharClass) o).words));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < words.length * WORD_BITS; i++) {
+            if (contains((char) i)) {
+                sb.append((char) i);
+            }
+        }
+        return sb.append("]").toString();
+    }
+
+    private static long[] set(long[] w, char c) {
+        int idx = c >>> WORD_SHIFT;
+        if (idx >= w.length) {
+            w = Arrays.copyOf(w, idx + 1);
+        }
+        w[idx] |= 1L << c;
+        return w;
+    }
+
+    // keeps equals consistent by dropping empty trailing words
+    private static long[] trim(long[] w) {
+        int l = w.length;
+        while (l > 0 && w[l - 1] == 0) {
+            l--;
+        }
+        return l == w.length ? w : Arrays.copyOf(w, l);
+    }
+}
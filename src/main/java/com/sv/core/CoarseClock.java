@@ -0,0 +1,69 @@
+package com.sv.core;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Clock that is updated by a background ticker so hot paths
+ * read a volatile field instead of asking the system for time.
+ * Value can be behind by up to the resolution it is started with.
+ * <p>
+ * Until started, or after stopped, it returns system time.
+ */
+public final class CoarseClock {
+
+    private CoarseClock() {
+    }
+
+    public static final long DEFAULT_RESOLUTION_MILLIS = 10;
+
+    private static volatile boolean running;
+    private static volatile long nowMillis = System.currentTimeMillis();
+    private static ScheduledExecutorService ticker;
+
+    public static void start() {
+        start(DEFAULT_RESOLUTION_MILLIS);
+    }
+
+    /**
+     * Starts ticker, has no effect if already running
+     *
+     * @param resolutionMillis how often time is updated
+     */
+    public static synchronized void start(long resolutionMillis) {
+        if (ticker != null) {
+            return;
+        }
+        nowMillis = System.currentTimeMillis();
+        ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "coarse-clock");
+            t.setDaemon(true);
+            return t;
+        });
+        ticker.scheduleAtFixedRate(() -> nowMillis = System.currentTimeMillis(),
+                resolutionMillis, resolutionMillis, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    public static synchronized void stop() {
+        running = false;
+        if (ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+        }
+    }
+
+    public static boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Returns current milliseconds, from ticker if running else from system
+     *
+     * @return long
+     */
+    public static long currentTimeMillis() {
+        return running ? nowMillis : System.currentTimeMillis();
+    }
+}
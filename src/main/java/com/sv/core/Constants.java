@@ -51,6 +51,9 @@ public final class Constants {
     public static final Character[] SPECIAL_CHARS =
             {'\\', ':', '/', ',', '-', '_', ' '};
 
+    public static final CharClass NUM_CHAR_CLASS = CharClass.of(NUM_ARR);
+    public static final CharClass SPECIAL_CHAR_CLASS = CharClass.of(SPECIAL_CHARS);
+
     // Set of values that imply a true value.
     public static final String[] trueValues = {"Y", "YES", "TRUE", "T"};
 
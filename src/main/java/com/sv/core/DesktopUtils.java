@@ -0,0 +1,62 @@
+package com.sv.core;
+
+import com.sv.core.logger.MyLogger;
+
+import javax.imageio.ImageIO;
+import java.awt.AWTException;
+import java.awt.Rectangle;
+import java.awt.Robot;
+import java.awt.Toolkit;
+import java.awt.event.KeyEvent;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+import static com.sv.core.Constants.*;
+
+/**
+ * Helpers that need a display.  Only this class loads AWT, so
+ * headless code using other utils never touches it.
+ */
+public final class DesktopUtils {
+
+    private DesktopUtils() {
+    }
+
+    /**
+     * This will take screen shot of primary screen
+     * and save at given path with name with date time
+     *
+     * @param path   folder name to save
+     * @param logger MyLogger object
+     * @return true if success
+     */
+    public static boolean takeScreenshot(String path, MyLogger logger) {
+        boolean result = true;
+        String format = "png";
+        String loc = path + SLASH + "screenshot-"
+                + StringUtils.formatForFilename(TimeUtils.getFormattedDate()) + DOT + format;
+        BufferedImage image = null;
+        try {
+            image = new Robot().createScreenCapture(new Rectangle(Toolkit.getDefaultToolkit().getScreenSize()));
+            ImageIO.write(image, format, new File(loc));
+        } catch (AWTException | IOException e) {
+            logger.error("Error in taking screenshot and saving at path [" + StringUtils.addBraces(path));
+            result = false;
+        }
+        return result;
+    }
+
+    public static void setWindowPosition(Utils.WinDirection winDirection, MyLogger logger) {
+        try {
+            Robot r = new Robot();
+            r.keyPress(KeyEvent.VK_WINDOWS);
+            r.keyPress(winDirection.val);
+            //Release Windows button
+            r.keyRelease(winDirection.val);
+            r.keyRelease(KeyEvent.VK_WINDOWS);
+        } catch (Exception e) {
+            logger.error("Unable to move window to [" + winDirection + "]", e);
+        }
+    }
+}
@@ -1,40 +1,67 @@
 package com.sv.core;
 
-import javax.crypto.SecretKeyFactory;
-import javax.crypto.spec.PBEKeySpec;
 import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
 import java.security.spec.InvalidKeySpecException;
-import java.security.spec.KeySpec;
 import java.util.Base64;
+import java.util.List;
 
 /**
  * From https://www.quickprogrammingtips.com/java/how-to-securely-store-passwords-in-java.html
  */
 public class EncryptUtils {
 
+    // same parameters as earlier versions so stored passwords keep matching
+    private static final PasswordHasher LEGACY = PasswordHasher.builder()
+            .algorithm(PasswordHasher.Algorithm.SHA1)
+            .iterations(20000) // NIST specifies 10000
+            .keyLength(160) // for SHA1
+            .saltLength(8) // NIST recommends minimum 4 bytes. We use 8.
+            .build();
+
     // Get a encrypted password using PBKDF2 hash algorithm
     public static String getEncryptedPassword(String password, String salt) throws NoSuchAlgorithmException, InvalidKeySpecException {
-        String algorithm = "PBKDF2WithHmacSHA1";
-        int derivedKeyLength = 160; // for SHA1
-        int iterations = 20000; // NIST specifies 10000
-
         byte[] saltBytes = Base64.getDecoder().decode(salt);
-        KeySpec spec = new PBEKeySpec(password.toCharArray(), saltBytes, iterations, derivedKeyLength);
-        SecretKeyFactory f = SecretKeyFactory.getInstance(algorithm);
-
-        byte[] encBytes = f.generateSecret(spec).getEncoded();
+        byte[] encBytes = LEGACY.derive(password.toCharArray(), saltBytes);
         return Base64.getEncoder().encodeToString(encBytes);
     }
 
     // Returns base64 encoded salt
     public static String getNewSalt() throws NoSuchAlgorithmException {
-        // Don't use Random!
-        SecureRandom random = SecureRandom.getInstance("SHA1PRNG");
-        // NIST recommends minimum 4 bytes. We use 8.
-        byte[] salt = new byte[8];
-        random.nextBytes(salt);
-        return Base64.getEncoder().encodeToString(salt);
+        return LEGACY.newSalt();
+    }
+
+    /**
+     * Same as {@link #getEncryptedPassword(String, String)} for many
+     * passwords, spread over pool shared by {@link PasswordBatch} runs
+     *
+     * @param passwords passwords
+     * @param salts     base64 salt for password at same index
+     * @return encrypted passwords in order
+     */
+    public static List<String> getEncryptedPasswords(List<String> passwords, List<String> salts) {
+        return PasswordBatch.builder().hasher(LEGACY).build().deriveAll(passwords, salts).join();
+    }
+
+    /**
+     * Hashes password with {@link PasswordHasher#getDefault()}.
+     * Result holds salt and parameters, so no separate salt is stored.
+     *
+     * @param password to hash, cleared after use
+     * @return encoded hash
+     */
+    public static String hashPassword(char[] password) {
+        return PasswordHasher.getDefault().hash(password);
+    }
+
+    /**
+     * Checks password against hash returned by {@link #hashPassword(char[])}
+     *
+     * @param password to check, cleared after use
+     * @param encoded  stored hash
+     * @return true if password matches
+     */
+    public static boolean verifyPassword(char[] password, String encoded) {
+        return PasswordHasher.getDefault().verify(password, encoded);
     }
 
     public static void main(String[] args) throws NoSuchAlgorithmException, InvalidKeySpecException {
@@ -0,0 +1,279 @@
+package com.sv.core;
+
+import com.sv.core.io.ChannelFileWriter;
+import com.sv.core.io.FileTransfer;
+import com.sv.core.io.FileWalker;
+import com.sv.core.logger.MyLogger;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static com.sv.core.Constants.*;
+
+/**
+ * File and path helpers.
+ */
+public final class FileUtils {
+
+    private FileUtils() {
+    }
+
+    public static Path createPath(String path) {
+        return FileSystems.getDefault().getPath(path);
+    }
+
+    /**
+     * Get file name from path
+     *
+     * @param url path
+     * @return only name
+     */
+    public static String getFileName(String url) {
+        if (!StringUtils.hasValue(url))
+            return "";
+        if (url.contains(F_SLASH))
+            return url.substring(url.lastIndexOf(F_SLASH) + 1);
+        if (url.contains(SLASH))
+            return url.substring(url.lastIndexOf(SLASH) + 1);
+
+        return url;
+    }
+
+    /**
+     * Removes file name extension
+     *
+     * @param filename path
+     * @return only name
+     */
+    public static String chopFileNameExtn(String filename) {
+        if (!StringUtils.hasValue(filename))
+            return EMPTY;
+
+        if (filename.contains(DOT))
+            return filename.substring(0, filename.lastIndexOf(DOT));
+
+        return filename;
+    }
+
+    public static boolean deleteFile(String path) {
+        Path p = createPath(path);
+        try {
+            return Files.deleteIfExists(p);
+        } catch (IOException e) {
+            //no action
+        }
+        return false;
+    }
+
+    /**
+     * Copies file replacing content of dest, see {@link FileTransfer}
+     *
+     * @param src    source path
+     * @param dest   target path
+     * @param logger MyLogger object
+     * @return true if success
+     */
+    public static boolean copyFile(String src, String dest, MyLogger logger) {
+        try {
+            long sz = FileTransfer.copy(createPath(src), createPath(dest));
+            if (logger != null) {
+                logger.info("File copied " + StringUtils.getSizeString(sz) + " to " + StringUtils.addBraces(dest));
+            }
+            return true;
+        } catch (IOException e) {
+            if (logger != null) {
+                logger.error(e.getMessage(), e);
+            }
+        }
+        return false;
+    }
+
+    public static long getFileSize(String path, long defaultValue) {
+        Path p = createPath(path);
+        if (Files.exists(p)) {
+            try {
+                return Files.size(p);
+            } catch (IOException e) {
+                // no action
+            }
+        }
+        return defaultValue;
+    }
+
+    public static long getFileSize(String path) {
+        return getFileSize(path, -1);
+    }
+
+    public static String getFileSizeString(String path) {
+        long sz;
+        try {
+            sz = Files.size(createPath(path));
+        } catch (IOException e) {
+            sz = 0;
+        }
+        return StringUtils.getSizeString(sz, true, true, 2);
+    }
+
+    public static void saveProperties(Properties prop, String filePath, MyLogger logger) {
+        logger.info("Saving properties at " + StringUtils.addBraces(filePath));
+        try {
+            prop.store(new FileOutputStream(filePath), null);
+        } catch (IOException e) {
+            logger.info("Error in saving properties.");
+        }
+    }
+
+    /**
+     * Returns absolute paths of files inside folder, including links to files
+     *
+     * @param dir    directory path
+     * @param logger Obj
+     * @return list
+     */
+    public static List<String> listFiles(String dir, MyLogger logger) {
+        Path p = createPath(dir);
+        if (!Files.isDirectory(p)) {
+            if (logger != null) {
+                logger.error("Unable to load files from " + StringUtils.addBraces(dir));
+            }
+            return new ArrayList<>();
+        }
+        List<String> list = new ArrayList<>();
+        // links are followed so symlinked files are listed, as File.isFile did
+        FileWalker.builder().maxDepth(ONE).parallelism(ONE).followLinks(true).logger(logger).build()
+                .walk(p, (f, attrs) -> list.add(f.toAbsolutePath().toString()));
+        return list;
+    }
+
+    /**
+     * Reads all lines in memory.  For large files use
+     * {@link com.sv.core.io.LineReader} or {@link com.sv.core.io.MappedLineReader}
+     *
+     * @param path   file path
+     * @param logger MyLogger object
+     * @return list of lines, empty in case of error
+     */
+    public static List<String> readFile(String path, MyLogger logger) {
+        try {
+            return Files.readAllLines(createPath(path));
+        } catch (IOException e) {
+            if (logger != null) {
+                logger.error(e.getMessage(), e);
+            }
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Writes data replacing old content of file
+     *
+     * @param path   file path
+     * @param data   to write
+     * @param logger MyLogger object
+     * @return true if success
+     */
+    public static boolean writeFile(String path, String data, MyLogger logger) {
+        return writeFile(path, data, logger, new StandardOpenOption[]
+                {StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE});
+    }
+
+    public static boolean writeFile(String path, List<String> lines, MyLogger logger) {
+        return writeFile(path, lines, Charset.defaultCharset(), logger);
+    }
+
+    /**
+     * Streams lines to file with line separator after each,
+     * replacing old content of file
+     *
+     * @param path    file path
+     * @param lines   to write
+     * @param charset to encode text
+     * @param logger  MyLogger object
+     * @return true if success
+     * @see ChannelFileWriter
+     */
+    public static boolean writeFile(String path, Iterable<? extends CharSequence> lines, Charset charset, MyLogger logger) {
+        boolean result = true;
+        try {
+            ChannelFileWriter.writeLines(createPath(path), lines, charset, ChannelFileWriter.SyncPolicy.NO_SYNC);
+            if (logger != null) {
+                logger.info("File successfully written at " + StringUtils.addBraces(path));
+            }
+        } catch (IOException e) {
+            if (logger != null) {
+                logger.error(e.getMessage(), e);
+            } else {
+                e.printStackTrace();
+            }
+            result = false;
+        }
+        return result;
+    }
+
+    public static boolean writeFile(String path, String data, MyLogger logger, OpenOption... options) {
+        boolean result = true;
+        try {
+            Path p = Files.write(createPath(path), data.getBytes(), options);
+            if (logger != null) {
+                logger.info("File successfully written at " + StringUtils.addBraces(p.toString()));
+            }
+        } catch (IOException e) {
+            if (logger != null) {
+                logger.error(e.getMessage(), e);
+            } else {
+                e.printStackTrace();
+            }
+            result = false;
+        }
+        return result;
+    }
+
+    public static Properties readPropertyFile(String path, MyLogger logger) {
+        try {
+            Properties prop = new Properties();
+            prop.load(new FileInputStream(path));
+            return prop;
+        } catch (IOException e) {
+            if (logger != null) {
+                logger.error(e.getMessage(), e);
+            }
+        }
+        return new Properties();
+    }
+
+    public static File getCurrentDirFile() {
+        return getCurrentDirPath().toFile();
+    }
+
+    public static String getCurrentDir() {
+        String ps = getCurrentDirPath().toString();
+        if (ps.contains(F_SLASH) && !ps.endsWith(F_SLASH)) {
+            ps = ps + F_SLASH;
+        } else if (ps.contains(SLASH) && !ps.endsWith(SLASH)) {
+            ps = ps + SLASH;
+        }
+        return ps;
+    }
+
+    public static String removeDotFromEndOfPath(String ps) {
+        if (ps.endsWith(DOT)) {
+            ps = ps.substring(0, ps.length() - DOT.length());
+        }
+        return ps;
+    }
+
+    public static Path getCurrentDirPath() {
+        return FileSystems.getDefault().getPath("").toAbsolutePath();
+    }
+}
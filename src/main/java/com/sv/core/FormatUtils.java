@@ -0,0 +1,215 @@
+package com.sv.core;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormatSymbols;
+import java.text.FieldPosition;
+import java.text.NumberFormat;
+import java.util.Locale;
+
+import static com.sv.core.Constants.GB;
+import static com.sv.core.Constants.KB;
+import static com.sv.core.Constants.MB;
+
+/**
+ * Formatters that append to a caller supplied StringBuilder.
+ * Decimals are calculated with integer arithmetic and rounded half up,
+ * the same as `String.format("%.nf")` of the default format locale.
+ */
+public final class FormatUtils {
+
+    private FormatUtils() {
+    }
+
+    private static final long[] POW_10 = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L,
+            10_000_000L, 100_000_000L, 1_000_000_000L
+    };
+    private static final int MILLIS_DIGITS = 3;
+    private static final long MILLIS_IN_SEC = 1000;
+
+    private static volatile Symbols symbols = new Symbols(null);
+
+    private static final ThreadLocal<NumberFormatHolder> NUMBER_FORMAT =
+            ThreadLocal.withInitial(NumberFormatHolder::new);
+
+    /**
+     * Appends size that could be in GB or MB or KB or in bytes.
+     * Output is same as {@link StringUtils#getSizeString(long, boolean, boolean, int)}
+     *
+     * @param sb             to append
+     * @param sz             size in bytes
+     * @param addBraces      - if need [ ] around result
+     * @param addBSuffix     - if B added like MB or just M
+     * @param digitsAfterDot - How many digits after dot
+     * @return same StringBuilder
+     */
+    public static StringBuilder appendSize(StringBuilder sb, long sz, boolean addBraces,
+                                           boolean addBSuffix, int digitsAfterDot) {
+        if (addBraces) {
+            sb.append('[');
+        }
+        if (sz > GB) {
+            appendDecimal(sb, sz, GB, digitsAfterDot).append('G');
+        } else if (sz > MB) {
+            appendDecimal(sb, sz, MB, digitsAfterDot).append('M');
+        } else if (sz > KB) {
+            appendDecimal(sb, sz, KB, digitsAfterDot).append('K');
+        } else {
+            sb.append(sz);
+        }
+        if (addBSuffix) {
+            sb.append('B');
+        }
+        if (addBraces) {
+            sb.append(']');
+        }
+        return sb;
+    }
+
+    /**
+     * Appends value / divisor rounded half up
+     *
+     * @param sb             to append
+     * @param value          dividend
+     * @param divisor        positive divisor
+     * @param digitsAfterDot How many digits after dot
+     * @return same StringBuilder
+     */
+    public static StringBuilder appendDecimal(StringBuilder sb, long value, long divisor, int digitsAfterDot) {
+        int digits = Math.max(digitsAfterDot, 0);
+        if (value < 0 || digits >= POW_10.length || value > Long.MAX_VALUE / POW_10[digits]) {
+            return appendBigDecimal(sb, value, divisor, digits);
+        }
+        long scaled = value * POW_10[digits];
+        long q = scaled / divisor, r = scaled % divisor;
+        if (r >= divisor - r) {
+            q++;
+        }
+        return appendScaled(sb, q, digits);
+    }
+
+    /**
+     * Appends milliseconds as seconds with 3 digits after dot like 2.345
+     *
+     * @param sb     to append
+     * @param millis milli seconds
+     * @return same StringBuilder
+     */
+    public static StringBuilder appendSecMilli(StringBuilder sb, long millis) {
+        if (millis < 0) {
+            sb.append('-');
+            millis = -millis;
+        }
+        Symbols sym = symbols();
+        appendLocalized(sb, millis / MILLIS_IN_SEC, sym.zero);
+        sb.append(sym.decimalSeparator);
+        long ms = millis % MILLIS_IN_SEC;
+        for (long p = MILLIS_IN_SEC / 10; p > 0; p /= 10) {
+            sb.append((char) (sym.zero + (ms / p) % 10));
+        }
+        return sb;
+    }
+
+    /**
+     * Appends number using number format of default locale.
+     * Format object is cached per thread.
+     *
+     * @param sb to append
+     * @param n  number
+     * @return same StringBuilder
+     */
+    public static StringBuilder appendNumber(StringBuilder sb, double n) {
+        NumberFormatHolder h = NUMBER_FORMAT.get().current();
+        h.buffer.setLength(0);
+        h.format.format(n, h.buffer, h.position);
+        return sb.append(h.buffer);
+    }
+
+    public static String formatNumber(double n) {
+        return appendNumber(new StringBuilder(), n).toString();
+    }
+
+    private static StringBuilder appendScaled(StringBuilder sb, long scaled, int digits) {
+        Symbols sym = symbols();
+        long div = POW_10[digits];
+        appendLocalized(sb, scaled / div, sym.zero);
+        if (digits > 0) {
+            sb.append(sym.decimalSeparator);
+            long frac = scaled % div;
+            for (long p = div / 10; p > 0; p /= 10) {
+                sb.append((char) (sym.zero + (frac / p) % 10));
+            }
+        }
+        return sb;
+    }
+
+    private static StringBuilder appendBigDecimal(StringBuilder sb, long value, long divisor, int digits) {
+        BigDecimal bd = BigDecimal.valueOf(value)
+                .divide(BigDecimal.valueOf(divisor), digits, RoundingMode.HALF_UP);
+        Symbols sym = symbols();
+        String plain = bd.toPlainString();
+        for (int i = 0; i < plain.length(); i++) {
+            char c = plain.charAt(i);
+            if (c == '.') {
+                sb.append(sym.decimalSeparator);
+            } else if (c >= '0' && c <= '9') {
+                sb.append((char) (sym.zero + c - '0'));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb;
+    }
+
+    private static void appendLocalized(StringBuilder sb, long value, char zero) {
+        if (zero == '0') {
+            sb.append(value);
+            return;
+        }
+        int start = sb.length();
+        sb.append(value);
+        for (int i = start; i < sb.length(); i++) {
+            sb.setCharAt(i, (char) (zero + sb.charAt(i) - '0'));
+        }
+    }
+
+    private static Symbols symbols() {
+        Locale l = Locale.getDefault(Locale.Category.FORMAT);
+        Symbols s = symbols;
+        if (s.locale != l) {
+            s = new Symbols(l);
+            symbols = s;
+        }
+        return s;
+    }
+
+    private static final class Symbols {
+        private final Locale locale;
+        private final char zero, decimalSeparator;
+
+        Symbols(Locale locale) {
+            this.locale = locale;
+            DecimalFormatSymbols dfs = locale == null ? null : DecimalFormatSymbols.getInstance(locale);
+            // same as Formatter, digits are not localized for US
+            zero = dfs == null || Locale.US.equals(locale) ? '0' : dfs.getZeroDigit();
+            decimalSeparator = dfs == null ? '.' : dfs.getDecimalSeparator();
+        }
+    }
+
+    private static final class NumberFormatHolder {
+        private Locale locale;
+        private NumberFormat format;
+        private final StringBuffer buffer = new StringBuffer();
+        private final FieldPosition position = new FieldPosition(0);
+
+        NumberFormatHolder current() {
+            Locale l = Locale.getDefault(Locale.Category.FORMAT);
+            if (l != locale) {
+                locale = l;
+                format = NumberFormat.getNumberInstance(l);
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.sv.core;
+
+import com.sv.core.logger.MyLogger;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Host name resolved in background and cached, so callers building
+ * log lines or metric tags never wait on a slow DNS lookup.
+ * <p>
+ * Resolution starts when class loads.  Till it ends, and if it fails,
+ * name from environment variables is returned.  Callers that need the
+ * resolved name at startup can wait with {@link #awaitResolved}.  Name
+ * is resolved again every TTL on a background thread.
+ */
+public final class HostnameCache {
+
+    private HostnameCache() {
+    }
+
+    public static final long DEFAULT_TTL_MINUTES = 10;
+    public static final String UNKNOWN = "Unknown";
+
+    private static final String[] ENV_NAMES = {"COMPUTERNAME", "HOSTNAME"};
+    // lookups can block for seconds so they do not run on scheduler thread
+    private static final ExecutorService RESOLVER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "hostname-resolver");
+        t.setDaemon(true);
+        return t;
+    });
+    private static final String ENV_HOSTNAME = fromEnvironment();
+
+    private static volatile String hostname = ENV_HOSTNAME;
+    private static volatile boolean started, resolved;
+    private static volatile MyLogger logger;
+    private static long ttlMillis = TimeUnit.MINUTES.toMillis(DEFAULT_TTL_MINUTES);
+    private static CompletableFuture<Void> refresher;
+    private static volatile CompletableFuture<String> pending;
+
+    static {
+        start();
+    }
+
+    /**
+     * Starts resolving and schedules refresh.  Class loading already calls
+     * it, so calling it only loads class early, e.g. at application start.
+     */
+    public static synchronized void start() {
+        if (!started) {
+            refresh();
+            schedule();
+            started = true;
+        }
+    }
+
+    /**
+     * Changes how often name is resolved again
+     *
+     * @param ttl  time to keep a resolved name
+     * @param unit unit of ttl
+     */
+    public static synchronized void setTtl(long ttl, TimeUnit unit) {
+        ttlMillis = Math.max(unit.toMillis(ttl), 1);
+        if (refresher != null) {
+            refresher.cancel(false);
+            schedule();
+        }
+    }
+
+    /**
+     * Logger for lookup failures
+     *
+     * @param log MyLogger object
+     */
+    public static void setLogger(MyLogger log) {
+        logger = log;
+    }
+
+    /**
+     * Returns cached host name without waiting
+     *
+     * @return resolved name, or name from environment till resolved
+     */
+    public static String get() {
+        return hostname;
+    }
+
+    /**
+     * Waits for first lookup to end, for callers that need the resolved
+     * name before they start, e.g. to tag metrics
+     *
+     * @param timeout maximum time to wait
+     * @param unit    unit of timeout
+     * @return true if name is resolved
+     */
+    public static boolean awaitResolved(long timeout, TimeUnit unit) {
+        if (!resolved) {
+            try {
+                pending.get(timeout, unit);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | TimeoutException e) {
+                // name from environment is used till lookup ends
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * Returns true once a lookup has succeeded
+     *
+     * @return boolean
+     */
+    public static boolean isResolved() {
+        return resolved;
+    }
+
+    /**
+     * Resolves name again in background, joining a lookup already running
+     *
+     * @return future of name after lookup
+     */
+    public static synchronized CompletableFuture<String> refresh() {
+        if (pending == null || pending.isDone()) {
+            pending = CompletableFuture.supplyAsync(HostnameCache::resolve, RESOLVER);
+        }
+        return pending;
+    }
+
+    private static void schedule() {
+        refresher = Scheduler.getDefault().scheduleWithFixedDelay(HostnameCache::refresh,
+                ttlMillis, 0, TimeUnit.MILLISECONDS);
+    }
+
+    private static String resolve() {
+        try {
+            hostname = InetAddress.getLocalHost().getHostName();
+            resolved = true;
+        } catch (UnknownHostException e) {
+            MyLogger log = logger;
+            if (log != null) {
+                log.warn("Unable to get host name, using " + Utils.addBraces(hostname));
+            }
+        }
+        return hostname;
+    }
+
+    private static String fromEnvironment() {
+        for (String name : ENV_NAMES) {
+            String value = System.getenv(name);
+            if (Utils.hasValue(value)) {
+                return value;
+            }
+        }
+        return UNKNOWN;
+    }
+}
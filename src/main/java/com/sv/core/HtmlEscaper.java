@@ -0,0 +1,234 @@
+package com.sv.core;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Single pass html escaping for characters in `HtmlEsc` enum.
+ * Characters are resolved using a lookup table instead of
+ * running one regex replacement per entity.
+ */
+public final class HtmlEscaper {
+
+    private HtmlEscaper() {
+    }
+
+    private static final int TABLE_SIZE = 128;
+    private static final int BUFFER_SIZE = 8 * Constants.KB;
+    private static final char AMP = '&';
+    private static final char SEMI_COLON = ';';
+
+    private static final String[] ESCAPES = new String[TABLE_SIZE];
+    private static final Utils.HtmlEsc[] ENTITIES = Utils.HtmlEsc.values();
+    private static final int MAX_ENTITY_LENGTH;
+
+    static {
+        int max = 0;
+        for (Utils.HtmlEsc h : ENTITIES) {
+            ESCAPES[h.getCh().charAt(0)] = h.getEscStr();
+            max = Math.max(max, h.getEscStr().length());
+        }
+        MAX_ENTITY_LENGTH = max;
+    }
+
+    /**
+     * Returns true if character has an entry in `HtmlEsc` enum
+     *
+     * @param ch char to check
+     * @return boolean status
+     */
+    public static boolean needsEscape(char ch) {
+        return ch < TABLE_SIZE && ESCAPES[ch] != null;
+    }
+
+    /**
+     * Escape html characters.  Same object is returned
+     * if there is nothing to escape.
+     *
+     * @param data string to escape
+     * @return escaped string
+     */
+    public static String escape(String data) {
+        int first = firstToEscape(data, 0, data.length());
+        if (first < 0) {
+            return data;
+        }
+        StringBuilder sb = new StringBuilder(data.length() + 16);
+        sb.append(data, 0, first);
+        escapeFrom(data, first, data.length(), sb);
+        return sb.toString();
+    }
+
+    /**
+     * Escape html characters and append result
+     *
+     * @param data string to escape
+     * @param sb   to append result
+     * @return same StringBuilder
+     */
+    public static StringBuilder escape(CharSequence data, StringBuilder sb) {
+        escapeFrom(data, 0, data.length(), sb);
+        return sb;
+    }
+
+    /**
+     * Escape html characters and append result to
+     * any `Appendable` like a `Writer`
+     *
+     * @param data string to escape
+     * @param out  to append result
+     * @throws IOException from appendable
+     */
+    public static void escape(CharSequence data, Appendable out) throws IOException {
+        int len = data.length(), start = 0;
+        for (int i = 0; i < len; i++) {
+            char c = data.charAt(i);
+            if (c < TABLE_SIZE && ESCAPES[c] != null) {
+                if (i > start) {
+                    out.append(data, start, i);
+                }
+                out.append(ESCAPES[c]);
+                start = i + 1;
+            }
+        }
+        if (start < len) {
+            out.append(data, start, len);
+        }
+    }
+
+    /**
+     * Escape html characters while copying from reader to writer.
+     * Streams are not closed.
+     *
+     * @param in  source
+     * @param out target
+     * @throws IOException from streams
+     */
+    public static void escape(Reader in, Writer out) throws IOException {
+        char[] buf = new char[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buf)) != -1) {
+            int start = 0;
+            for (int i = 0; i < read; i++) {
+                char c = buf[i];
+                if (c < TABLE_SIZE && ESCAPES[c] != null) {
+                    out.write(buf, start, i - start);
+                    out.write(ESCAPES[c]);
+                    start = i + 1;
+                }
+            }
+            out.write(buf, start, read - start);
+        }
+    }
+
+    /**
+     * Opposite of escaping.  Same object is returned
+     * if there is nothing to unescape.
+     *
+     * @param data string to unescape
+     * @return unescaped string
+     */
+    public static String unescape(String data) {
+        int first = data.indexOf(AMP);
+        if (first < 0) {
+            return data;
+        }
+        StringBuilder sb = new StringBuilder(data.length());
+        sb.append(data, 0, first);
+        try {
+            unescapeFrom(data, first, sb);
+        } catch (IOException e) {
+            // StringBuilder does not throw
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Opposite of escaping, appends result to
+     * any `Appendable` like a `Writer`
+     *
+     * @param data string to unescape
+     * @param out  to append result
+     * @throws IOException from appendable
+     */
+    public static void unescape(CharSequence data, Appendable out) throws IOException {
+        unescapeFrom(data, 0, out);
+    }
+
+    private static int firstToEscape(CharSequence data, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = data.charAt(i);
+            if (c < TABLE_SIZE && ESCAPES[c] != null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void escapeFrom(CharSequence data, int from, int to, StringBuilder sb) {
+        for (int i = from; i < to; i++) {
+            char c = data.charAt(i);
+            if (c < TABLE_SIZE && ESCAPES[c] != null) {
+                sb.append(ESCAPES[c]);
+            } else {
+                sb.append(c);
+            }
+        }
+    }
+
+    private static void unescapeFrom(CharSequence data, int from, Appendable out) throws IOException {
+        int len = data.length(), start = from, i = from;
+        while (i < len) {
+            if (data.charAt(i) == AMP) {
+                Utils.HtmlEsc h = matchEntity(data, i, len);
+                if (h != null) {
+                    if (i > start) {
+                        out.append(data, start, i);
+                    }
+                    out.append(h.getCh());
+                    i += h.getEscStr().length();
+                    start = i;
+                    continue;
+                }
+            }
+            i++;
+        }
+        if (start < len) {
+            out.append(data, start, len);
+        }
+    }
+
+    private static Utils.HtmlEsc matchEntity(CharSequence data, int idx, int len) {
+        int limit = Math.min(len, idx + MAX_ENTITY_LENGTH);
+        int end = -1;
+        for (int i = idx + 1; i < limit; i++) {
+            if (data.charAt(i) == SEMI_COLON) {
+                end = i + 1;
+                break;
+            }
+        }
+        if (end < 0) {
+            return null;
+        }
+        int entityLen = end - idx;
+        for (Utils.HtmlEsc h : ENTITIES) {
+            String esc = h.getEscStr();
+            if (esc.length() == entityLen && regionEquals(data, idx, esc)) {
+                return h;
+            }
+        }
+        return null;
+    }
+
+    private static boolean regionEquals(CharSequence data, int idx, String s) {
+        for (int i = 1; i < s.length(); i++) {
+            if (data.charAt(idx + i) != s.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,340 @@
+package com.sv.core;
+
+import static com.sv.core.Constants.falseValues;
+import static com.sv.core.Constants.trueValues;
+
+/**
+ * Number and boolean parsing over char ranges that never throws.
+ * Invalid input returns the default value or a status, and no
+ * sub string is created for the range being parsed.
+ */
+public final class ParseUtils {
+
+    private ParseUtils() {
+    }
+
+    public enum Status {OK, EMPTY, INVALID, OVERFLOW}
+
+    private static final int RADIX = 10;
+    private static final int BOOL_TRUE = 1;
+    private static final int BOOL_FALSE = 0;
+    private static final int BOOL_INVALID = -1;
+
+    /**
+     * Holds value and status of last parse.  Create once
+     * and reuse to keep parsing allocation free.
+     */
+    public static final class Result {
+        private long value;
+        private Status status = Status.EMPTY;
+
+        public long getValue() {
+            return value;
+        }
+
+        public int getIntValue() {
+            return (int) value;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public boolean isOk() {
+            return status == Status.OK;
+        }
+
+        private void set(long value, Status status) {
+            this.value = value;
+            this.status = status;
+        }
+    }
+
+    public static int parseInt(CharSequence s, int defaultVal) {
+        return s == null ? defaultVal : parseInt(s, 0, s.length(), defaultVal);
+    }
+
+    /**
+     * Parse int from range of s
+     *
+     * @param s          chars
+     * @param off        start index
+     * @param len        number of chars
+     * @param defaultVal returned if range is not a valid int
+     * @return int
+     */
+    public static int parseInt(CharSequence s, int off, int len, int defaultVal) {
+        return (int) parse(s, off, len, Integer.MIN_VALUE, Integer.MAX_VALUE, defaultVal, null);
+    }
+
+    public static int parseInt(char[] s, int off, int len, int defaultVal) {
+        return (int) parse(s, off, len, Integer.MIN_VALUE, Integer.MAX_VALUE, defaultVal);
+    }
+
+    public static long parseLong(CharSequence s, long defaultVal) {
+        return s == null ? defaultVal : parseLong(s, 0, s.length(), defaultVal);
+    }
+
+    /**
+     * Parse long from range of s
+     *
+     * @param s          chars
+     * @param off        start index
+     * @param len        number of chars
+     * @param defaultVal returned if range is not a valid long
+     * @return long
+     */
+    public static long parseLong(CharSequence s, int off, int len, long defaultVal) {
+        return parse(s, off, len, Long.MIN_VALUE, Long.MAX_VALUE, defaultVal, null);
+    }
+
+    public static long parseLong(char[] s, int off, int len, long defaultVal) {
+        return parse(s, off, len, Long.MIN_VALUE, Long.MAX_VALUE, defaultVal);
+    }
+
+    /**
+     * Parse int from range of s and store value and status in result
+     *
+     * @param s      chars
+     * @param off    start index
+     * @param len    number of chars
+     * @param result reusable result
+     * @return status of parsing
+     */
+    public static Status parseInt(CharSequence s, int off, int len, Result result) {
+        parse(s, off, len, Integer.MIN_VALUE, Integer.MAX_VALUE, 0, result);
+        return result.status;
+    }
+
+    public static Status parseLong(CharSequence s, int off, int len, Result result) {
+        parse(s, off, len, Long.MIN_VALUE, Long.MAX_VALUE, 0, result);
+        return result.status;
+    }
+
+    public static boolean parseBoolean(CharSequence s, boolean defaultVal) {
+        return s == null ? defaultVal : parseBoolean(s, 0, s.length(), defaultVal);
+    }
+
+    /**
+     * Return the boolean equivalent of range of s using
+     * `trueValues` and `falseValues`.  Spaces around value are ignored.
+     *
+     * @param s          chars
+     * @param off        start index
+     * @param len        number of chars
+     * @param defaultVal returned if range is not a valid boolean
+     * @return boolean
+     */
+    public static boolean parseBoolean(CharSequence s, int off, int len, boolean defaultVal) {
+        int b = booleanCode(s, off, len);
+        return b == BOOL_INVALID ? defaultVal : b == BOOL_TRUE;
+    }
+
+    public static boolean isValidBoolean(CharSequence s) {
+        return s != null && booleanCode(s, 0, s.length()) != BOOL_INVALID;
+    }
+
+    /**
+     * Parse delimited line into out array.  Spaces around
+     * fields are ignored and invalid fields get default value.
+     *
+     * @param line       to parse
+     * @param delim      field separator
+     * @param out        array to fill
+     * @param defaultVal for invalid fields
+     * @return number of fields stored in out
+     */
+    public static int parseInts(CharSequence line, char delim, int[] out, int defaultVal) {
+        int n = 0, start = 0, len = line.length();
+        while (n < out.length && start <= len) {
+            int end = fieldEnd(line, start, len, delim);
+            int s = skipSpaces(line, start, end), e = trimSpaces(line, s, end);
+            out[n++] = parseInt(line, s, e - s, defaultVal);
+            start = end + 1;
+        }
+        return n;
+    }
+
+    public static int[] parseInts(CharSequence line, char delim, int defaultVal) {
+        int[] out = new int[countFields(line, delim)];
+        parseInts(line, delim, out, defaultVal);
+        return out;
+    }
+
+    /**
+     * Parse delimited line into out array.  Spaces around
+     * fields are ignored and invalid fields get default value.
+     *
+     * @param line       to parse
+     * @param delim      field separator
+     * @param out        array to fill
+     * @param defaultVal for invalid fields
+     * @return number of fields stored in out
+     */
+    public static int parseLongs(CharSequence line, char delim, long[] out, long defaultVal) {
+        int n = 0, start = 0, len = line.length();
+        while (n < out.length && start <= len) {
+            int end = fieldEnd(line, start, len, delim);
+            int s = skipSpaces(line, start, end), e = trimSpaces(line, s, end);
+            out[n++] = parseLong(line, s, e - s, defaultVal);
+            start = end + 1;
+        }
+        return n;
+    }
+
+    public static long[] parseLongs(CharSequence line, char delim, long defaultVal) {
+        long[] out = new long[countFields(line, delim)];
+        parseLongs(line, delim, out, defaultVal);
+        return out;
+    }
+
+    /**
+     * Same algorithm as Long.parseLong, accumulating negatively
+     * so that min value of range can be parsed.
+     */
+    private static long parse(CharSequence s, int off, int len, long min, long max,
+                              long defaultVal, Result result) {
+        if (len <= 0) {
+            return fail(defaultVal, Status.EMPTY, result);
+        }
+        int i = off, end = off + len;
+        char first = s.charAt(i);
+        boolean negative = first == '-';
+        if (negative || first == '+') {
+            if (len == 1) {
+                return fail(defaultVal, Status.INVALID, result);
+            }
+            i++;
+        }
+        long limit = negative ? min : -max;
+        long multMin = limit / RADIX;
+        long val = 0;
+        for (; i < end; i++) {
+            int d = digit(s.charAt(i));
+            if (d < 0) {
+                return fail(defaultVal, Status.INVALID, result);
+            }
+            if (val < multMin) {
+                return fail(defaultVal, Status.OVERFLOW, result);
+            }
+            val *= RADIX;
+            if (val < limit + d) {
+                return fail(defaultVal, Status.OVERFLOW, result);
+            }
+            val -= d;
+        }
+        val = negative ? val : -val;
+        if (result != null) {
+            result.set(val, Status.OK);
+        }
+        return val;
+    }
+
+    private static long parse(char[] s, int off, int len, long min, long max, long defaultVal) {
+        if (len <= 0) {
+            return defaultVal;
+        }
+        int i = off, end = off + len;
+        boolean negative = s[i] == '-';
+        if (negative || s[i] == '+') {
+            if (len == 1) {
+                return defaultVal;
+            }
+            i++;
+        }
+        long limit = negative ? min : -max;
+        long multMin = limit / RADIX;
+        long val = 0;
+        for (; i < end; i++) {
+            int d = digit(s[i]);
+            if (d < 0 || val < multMin) {
+                return defaultVal;
+            }
+            val *= RADIX;
+            if (val < limit + d) {
+                return defaultVal;
+            }
+            val -= d;
+        }
+        return negative ? val : -val;
+    }
+
+    private static long fail(long defaultVal, Status status, Result result) {
+        if (result != null) {
+            result.set(defaultVal, status);
+        }
+        return defaultVal;
+    }
+
+    private static int digit(char c) {
+        int d = c - '0';
+        if (d >= 0 && d < RADIX) {
+            return d;
+        }
+        // non ascii digits are accepted by Integer.parseInt too
+        return c < 128 ? -1 : Character.digit(c, RADIX);
+    }
+
+    private static int booleanCode(CharSequence s, int off, int len) {
+        int start = skipSpaces(s, off, off + len), end = trimSpaces(s, start, off + len);
+        if (matchesAny(trueValues, s, start, end)) {
+            return BOOL_TRUE;
+        }
+        if (matchesAny(falseValues, s, start, end)) {
+            return BOOL_FALSE;
+        }
+        return BOOL_INVALID;
+    }
+
+    private static boolean matchesAny(String[] values, CharSequence s, int start, int end) {
+        int len = end - start;
+        for (String v : values) {
+            if (v.length() == len && equalsIgnoreCase(v, s, start)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean equalsIgnoreCase(String v, CharSequence s, int start) {
+        for (int i = 0; i < v.length(); i++) {
+            char a = v.charAt(i), b = s.charAt(start + i);
+            if (a != b && Character.toUpperCase(a) != Character.toUpperCase(b)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int fieldEnd(CharSequence s, int start, int len, char delim) {
+        int i = start;
+        while (i < len && s.charAt(i) != delim) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int countFields(CharSequence s, char delim) {
+        int n = 1;
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) == delim) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    private static int skipSpaces(CharSequence s, int start, int end) {
+        while (start < end && s.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimSpaces(CharSequence s, int start, int end) {
+        while (end > start && s.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+}
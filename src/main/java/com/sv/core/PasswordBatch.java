@@ -0,0 +1,218 @@
+package com.sv.core;
+
+import com.sv.core.exception.AppException;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/**
+ * Hashes or verifies many passwords in parallel on a fork join pool,
+ * for imports and migrations.  By default batches share a pool of
+ * their own sized to the CPUs, so they do not starve the common pool.
+ * Each pool thread reuses its own key factory through
+ * {@link PasswordHasher}.
+ * <p>
+ * Returned futures can be cancelled, items already running finish
+ * and the rest are skipped.
+ */
+public final class PasswordBatch {
+
+    private static final int PROGRESS_STEPS = 100;
+
+    private final PasswordHasher hasher;
+    private final ForkJoinPool pool;
+    private final ProgressListener listener;
+
+    private PasswordBatch(Builder b) {
+        this.hasher = b.hasher;
+        this.pool = b.pool;
+        this.listener = b.listener;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Hashes each password with a new salt
+     *
+     * @param passwords to hash, each array is cleared after use
+     * @return future of encoded hashes in order of passwords
+     */
+    public CompletableFuture<List<String>> hashAll(List<char[]> passwords) {
+        return run(passwords.size(), i -> hasher.hash(passwords.get(i)));
+    }
+
+    /**
+     * Derives key of each password with its salt, same as
+     * {@link EncryptUtils#getEncryptedPassword(String, String)} when
+     * hasher has legacy parameters
+     *
+     * @param passwords passwords
+     * @param salts     base64 salt for password at same index
+     * @return future of base64 keys in order of passwords
+     */
+    public CompletableFuture<List<String>> deriveAll(List<String> passwords, List<String> salts) {
+        checkSizes(passwords, salts);
+        Base64.Decoder dec = Base64.getDecoder();
+        Base64.Encoder enc = Base64.getEncoder();
+        return run(passwords.size(), i -> enc.encodeToString(
+                hasher.derive(passwords.get(i).toCharArray(), dec.decode(salts.get(i)))));
+    }
+
+    /**
+     * Verifies each password against its stored hash.  Invalid
+     * stored hash gives false instead of failing the batch.
+     *
+     * @param passwords to check, each array is cleared after use
+     * @param encoded   stored hash for password at same index
+     * @return future of results in order of passwords
+     */
+    public CompletableFuture<List<Boolean>> verifyAll(List<char[]> passwords, List<String> encoded) {
+        checkSizes(passwords, encoded);
+        return run(passwords.size(), i -> {
+            try {
+                return hasher.verify(passwords.get(i), encoded.get(i));
+            } catch (AppException e) {
+                Arrays.fill(passwords.get(i), '\0');
+                return false;
+            }
+        });
+    }
+
+    private <T> CompletableFuture<List<T>> run(int n, IntFunction<T> work) {
+        CompletableFuture<List<T>> result = new CompletableFuture<>();
+        Object[] out = new Object[n];
+        AtomicBoolean failed = new AtomicBoolean();
+        AtomicLong done = new AtomicLong();
+        long step = Math.max(1, n / PROGRESS_STEPS);
+        IntTask item = i -> {
+            if (result.isDone() || failed.get()) {
+                return;
+            }
+            try {
+                out[i] = work.apply(i);
+            } catch (RuntimeException e) {
+                failed.set(true);
+                throw e;
+            }
+            long d = done.incrementAndGet();
+            if (listener != null && (d % step == 0 || d == n)) {
+                listener.onProgress(d, n);
+            }
+        };
+        pool.execute(() -> {
+            try {
+                new RangeTask(0, n, item).invoke();
+                @SuppressWarnings("unchecked")
+                List<T> list = (List<T>) Arrays.asList(out);
+                result.complete(list);
+            } catch (RuntimeException | Error e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    private static void checkSizes(List<?> passwords, List<?> other) {
+        if (passwords.size() != other.size()) {
+            throw new AppException("Passwords " + Utils.addBraces(passwords.size())
+                    + " and salts or hashes " + Utils.addBraces(other.size()) + " differ in size");
+        }
+    }
+
+    @FunctionalInterface
+    private interface IntTask {
+        void run(int i);
+    }
+
+    // splits down to single items as each item is costly
+    private static final class RangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from, to;
+        private final IntTask item;
+
+        RangeTask(int from, int to, IntTask item) {
+            this.from = from;
+            this.to = to;
+            this.item = item;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (to > from) {
+                    item.run(from);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeTask(from, mid, item), new RangeTask(mid, to, item));
+        }
+    }
+
+    // created on first batch without own pool, workers are daemon threads
+    private static final class DefaultPool {
+        static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    public static final class Builder {
+        private PasswordHasher hasher;
+        private ForkJoinPool pool;
+        private ProgressListener listener;
+
+        private Builder() {
+        }
+
+        /**
+         * Hasher whose parameters are used, default is {@link PasswordHasher#getDefault()}
+         *
+         * @param hasher password hasher
+         * @return this builder
+         */
+        public Builder hasher(PasswordHasher hasher) {
+            this.hasher = hasher;
+            return this;
+        }
+
+        /**
+         * Pool to run on, default is a pool shared by batches and sized to the CPUs
+         *
+         * @param pool fork join pool
+         * @return this builder
+         */
+        public Builder pool(ForkJoinPool pool) {
+            this.pool = pool;
+            return this;
+        }
+
+        /**
+         * Called from pool threads about every 1% with items done
+         *
+         * @param listener progress listener
+         * @return this builder
+         */
+        public Builder listener(ProgressListener listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        public PasswordBatch build() {
+            if (hasher == null) {
+                hasher = PasswordHasher.getDefault();
+            }
+            if (pool == null) {
+                pool = DefaultPool.POOL;
+            }
+            return new PasswordBatch(this);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.sv.core;
+
+import com.sv.core.config.DefaultConfigs;
+import com.sv.core.logger.MyLogger;
+import com.sv.core.metrics.LatencyHistogram;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finds the largest PBKDF2 iteration count whose hashing time on this
+ * machine stays within a target latency at a percentile, like 100 ms at p99.
+ * <p>
+ * Per iteration cost is estimated with a short probe, then full hashes are
+ * timed at the estimated count and the count is adjusted till the
+ * percentile is within target and close to it.  Takes a few seconds,
+ * so run it at install or startup and store the result with
+ * {@link Result#store(DefaultConfigs)}.
+ */
+public final class PasswordCalibrator {
+
+    private PasswordCalibrator() {
+    }
+
+    public static final long DEFAULT_TARGET_MILLIS = 100;
+    public static final double DEFAULT_PERCENTILE = 99;
+    public static final int DEFAULT_SAMPLES = 20;
+    /**
+     * Calibration never goes below this count
+     */
+    public static final int MIN_ITERATIONS = 1000;
+
+    private static final int PROBE_ITERATIONS = 5000;
+    private static final int PROBE_RUNS = 10;
+    private static final int MAX_ROUNDS = 5;
+    private static final int ROUND_TO = 1000;
+    private static final double HEADROOM = 0.95;
+    private static final double CLOSE_ENOUGH = 0.8;
+    private static final byte[] SALT = new byte[PasswordHasher.DEFAULT_SALT_LENGTH];
+    private static final char[] PASSWORD = "calibration-password".toCharArray();
+
+    public static Result calibrate(PasswordHasher.Algorithm algorithm, MyLogger logger) {
+        return calibrate(algorithm, DEFAULT_TARGET_MILLIS, DEFAULT_PERCENTILE, DEFAULT_SAMPLES, logger);
+    }
+
+    /**
+     * Benchmarks hashing on current thread and returns iterations that fit target
+     *
+     * @param algorithm    PBKDF2 algorithm
+     * @param targetMillis latency allowed per hash
+     * @param percentile   between 0 and 100 like 99
+     * @param samples      hashes timed per round
+     * @param logger       MyLogger object
+     * @return calibration result
+     */
+    public static Result calibrate(PasswordHasher.Algorithm algorithm, long targetMillis,
+                                   double percentile, int samples, MyLogger logger) {
+        long targetNanos = TimeUnit.MILLISECONDS.toNanos(targetMillis);
+        int keyLength = algorithm.getKeyLength();
+
+        // first runs include class loading and JIT, keep the fastest
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < PROBE_RUNS; i++) {
+            best = Math.min(best, time(algorithm, PROBE_ITERATIONS, keyLength));
+        }
+        double nanosPerIteration = (double) best / PROBE_ITERATIONS;
+        int iterations = round(targetNanos * HEADROOM / nanosPerIteration);
+
+        // moves iterations towards target from either side, keeping largest count that fit
+        LatencyHistogram histogram = new LatencyHistogram();
+        int fitIterations = -1;
+        long fitNanos = 0;
+        for (int round = 0; round < MAX_ROUNDS; round++) {
+            long measured = measure(histogram, algorithm, iterations, keyLength, samples, percentile);
+            if (logger != null) {
+                logger.debug("Calibration round " + round + " iterations " + Utils.addBraces(iterations)
+                        + " p" + percentile + " " + Utils.addBraces(TimeUnit.NANOSECONDS.toMillis(measured)) + " ms");
+            }
+            if (measured <= targetNanos && iterations > fitIterations) {
+                fitIterations = iterations;
+                fitNanos = measured;
+                if (measured >= targetNanos * CLOSE_ENOUGH) {
+                    break;
+                }
+            }
+            int next = round(iterations * HEADROOM * targetNanos / measured);
+            if (next == iterations || (measured > targetNanos && iterations == MIN_ITERATIONS)) {
+                break;
+            }
+            iterations = next;
+        }
+        long measured;
+        if (fitIterations > 0) {
+            iterations = fitIterations;
+            measured = fitNanos;
+        } else {
+            // nothing fit, report minimum with its own latency
+            iterations = MIN_ITERATIONS;
+            measured = measure(histogram, algorithm, iterations, keyLength, samples, percentile);
+        }
+
+        Result result = new Result(algorithm, iterations, TimeUnit.NANOSECONDS.toMillis(measured),
+                targetMillis, percentile);
+        if (logger != null) {
+            logger.info("Password hash calibrated as " + result);
+            if (measured > targetNanos) {
+                logger.warn("Target " + Utils.addBraces(targetMillis) + " ms can not be met, using minimum iterations");
+            }
+        }
+        return result;
+    }
+
+    private static long measure(LatencyHistogram histogram, PasswordHasher.Algorithm algorithm, int iterations,
+                                int keyLength, int samples, double percentile) {
+        histogram.reset();
+        for (int i = 0; i < Math.max(samples, 1); i++) {
+            histogram.record(time(algorithm, iterations, keyLength));
+        }
+        return histogram.getPercentile(percentile);
+    }
+
+    private static long time(PasswordHasher.Algorithm algorithm, int iterations, int keyLength) {
+        long start = System.nanoTime();
+        PasswordHasher.derive(algorithm, PASSWORD.clone(), SALT, iterations, keyLength);
+        return System.nanoTime() - start;
+    }
+
+    private static int round(double iterations) {
+        long rounded = (long) (iterations / ROUND_TO) * ROUND_TO;
+        return (int) Math.max(MIN_ITERATIONS, Math.min(rounded, PasswordHasher.MAX_ITERATIONS));
+    }
+
+    /**
+     * Iterations chosen with the latency measured for them
+     */
+    public static final class Result {
+        private final PasswordHasher.Algorithm algorithm;
+        private final int iterations;
+        private final long measuredMillis, targetMillis;
+        private final double percentile;
+
+        private Result(PasswordHasher.Algorithm algorithm, int iterations, long measuredMillis,
+                       long targetMillis, double percentile) {
+            this.algorithm = algorithm;
+            this.iterations = iterations;
+            this.measuredMillis = measuredMillis;
+            this.targetMillis = targetMillis;
+            this.percentile = percentile;
+        }
+
+        public PasswordHasher.Algorithm getAlgorithm() {
+            return algorithm;
+        }
+
+        public int getIterations() {
+            return iterations;
+        }
+
+        /**
+         * Hash time at percentile for chosen iterations
+         *
+         * @return milli seconds
+         */
+        public long getMeasuredMillis() {
+            return measuredMillis;
+        }
+
+        public long getTargetMillis() {
+            return targetMillis;
+        }
+
+        public double getPercentile() {
+            return percentile;
+        }
+
+        /**
+         * Sets algorithm and iterations in configs and saves them, so
+         * {@link PasswordHasher#fromConfigs(DefaultConfigs)} picks them up
+         *
+         * @param configs to store in
+         */
+        public void store(DefaultConfigs configs) {
+            configs.setConfig(PasswordHasher.CONFIG_ALGORITHM, algorithm.getId());
+            configs.setConfig(PasswordHasher.CONFIG_ITERATIONS, String.valueOf(iterations));
+            configs.saveConfig();
+        }
+
+        public PasswordHasher toHasher() {
+            return PasswordHasher.builder().algorithm(algorithm).iterations(iterations).build();
+        }
+
+        @Override
+        public String toString() {
+            return algorithm.getId() + " iterations " + Utils.addBraces(iterations) + ", p" + percentile
+                    + " " + Utils.addBraces(measuredMillis) + " ms, target " + Utils.addBraces(targetMillis) + " ms";
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package com.sv.core;
+
+import com.sv.core.config.DefaultConfigs;
+import com.sv.core.exception.AppException;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.spec.InvalidKeySpecException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PBKDF2 password hashing.  Key factories and random generators are
+ * created once per thread and reused.  Hashes are encoded with their
+ * cost parameters like
+ * <pre>$pbkdf2-sha256$i=100000,l=256$salt$hash</pre>
+ * where salt and hash are base64, so they can be verified after
+ * parameters change.
+ * <p>
+ * Async methods run on a bounded pool of daemon threads, extra
+ * requests wait in queue instead of using every core.
+ */
+public final class PasswordHasher {
+
+    public enum Algorithm {
+        SHA1("sha1", "PBKDF2WithHmacSHA1", 160),
+        SHA256("sha256", "PBKDF2WithHmacSHA256", 256),
+        SHA512("sha512", "PBKDF2WithHmacSHA512", 512);
+
+        private final String id, jcaName;
+        private final int keyLength;
+
+        Algorithm(String id, String jcaName, int keyLength) {
+            this.id = id;
+            this.jcaName = jcaName;
+            this.keyLength = keyLength;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getJcaName() {
+            return jcaName;
+        }
+
+        /**
+         * Output size of HMAC, used as default key length
+         *
+         * @return bits
+         */
+        public int getKeyLength() {
+            return keyLength;
+        }
+
+        public static Algorithm fromId(String id) {
+            for (Algorithm a : values()) {
+                if (a.id.equalsIgnoreCase(id)) {
+                    return a;
+                }
+            }
+            throw new AppException("Unknown password hash algorithm " + Utils.addBraces(id));
+        }
+    }
+
+    public static final Algorithm DEFAULT_ALGORITHM = Algorithm.SHA256;
+    public static final int DEFAULT_ITERATIONS = 100_000;
+    public static final int DEFAULT_SALT_LENGTH = 16;
+    /**
+     * Stored hashes with more iterations are rejected, so a corrupt or
+     * tampered row can not hold a thread for hours
+     */
+    public static final int MAX_ITERATIONS = 10_000_000;
+    public static final String CONFIG_ALGORITHM = "PasswordHashAlgorithm";
+    public static final String CONFIG_ITERATIONS = "PasswordHashIterations";
+
+    private static final String PREFIX = "pbkdf2-";
+    private static final char SEPARATOR = '$';
+    private static final AtomicInteger POOL_ID = new AtomicInteger();
+
+    private static final ThreadLocal<SecretKeyFactory[]> FACTORIES =
+            ThreadLocal.withInitial(() -> new SecretKeyFactory[Algorithm.values().length]);
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+
+    private static volatile PasswordHasher defaultInstance;
+
+    private final Algorithm algorithm;
+    private final int iterations, keyLength, saltLength, threads;
+    private volatile ThreadPoolExecutor pool;
+
+    private PasswordHasher(Builder b) {
+        this.algorithm = b.algorithm;
+        this.iterations = b.iterations;
+        this.keyLength = b.keyLength > 0 ? b.keyLength : b.algorithm.keyLength;
+        this.saltLength = b.saltLength;
+        this.threads = b.threads;
+        // fail now if JCA provider does not have the algorithm
+        factory(algorithm);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Shared instance with default parameters, created on first use
+     *
+     * @return PasswordHasher
+     */
+    public static PasswordHasher getDefault() {
+        if (defaultInstance == null) {
+            synchronized (PasswordHasher.class) {
+                if (defaultInstance == null) {
+                    defaultInstance = builder().build();
+                }
+            }
+        }
+        return defaultInstance;
+    }
+
+    /**
+     * Creates hasher with algorithm and iterations stored in configs,
+     * for example by {@link PasswordCalibrator.Result#store(DefaultConfigs)}.
+     * Missing values use defaults.
+     *
+     * @param configs loaded configs
+     * @return PasswordHasher
+     */
+    public static PasswordHasher fromConfigs(DefaultConfigs configs) {
+        Builder b = builder();
+        String alg = configs.getConfig(CONFIG_ALGORITHM);
+        if (Utils.hasValue(alg)) {
+            b.algorithm(Algorithm.fromId(alg));
+        }
+        int iterations = configs.getIntConfig(CONFIG_ITERATIONS);
+        if (iterations > 0) {
+            b.iterations(iterations);
+        }
+        return b.build();
+    }
+
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public int getKeyLength() {
+        return keyLength;
+    }
+
+    /**
+     * Hashes password with a new salt.  Password array is zeroed.
+     *
+     * @param password to hash, cleared after use
+     * @return encoded hash with parameters
+     */
+    public String hash(char[] password) {
+        byte[] salt = newSaltBytes();
+        byte[] key = derive(algorithm, password, salt, iterations, keyLength);
+        Base64.Encoder enc = Base64.getEncoder();
+        return new StringBuilder(PREFIX.length() + 32 + (salt.length + key.length) * 2)
+                .append(SEPARATOR).append(PREFIX).append(algorithm.id)
+                .append(SEPARATOR).append("i=").append(iterations).append(",l=").append(keyLength)
+                .append(SEPARATOR).append(enc.encodeToString(salt))
+                .append(SEPARATOR).append(enc.encodeToString(key))
+                .toString();
+    }
+
+    /**
+     * Checks password against encoded hash in constant time.  Parameters
+     * are read from encoded hash so it can differ from this hasher.
+     *
+     * @param password to check, cleared after use
+     * @param encoded  hash returned by {@link #hash(char[])}
+     * @return true if password matches
+     * @throws AppException if encoded hash is not valid
+     */
+    public boolean verify(char[] password, String encoded) {
+        Encoded e = Encoded.parse(encoded);
+        byte[] key = derive(e.algorithm, password, e.salt, e.iterations, e.keyLength);
+        return MessageDigest.isEqual(key, e.hash);
+    }
+
+    /**
+     * Returns true if encoded hash was made with other algorithm, key length
+     * or iterations than this hasher.  Call after a successful verify and
+     * store the new hash, so stored hashes move to current cost over time.
+     *
+     * @param encoded stored hash
+     * @return true if hash should be recreated
+     */
+    public boolean needsRehash(String encoded) {
+        Encoded e = Encoded.parse(encoded);
+        return e.algorithm != algorithm || e.keyLength != keyLength || e.iterations != iterations;
+    }
+
+    public CompletableFuture<String> hashAsync(char[] password) {
+        return CompletableFuture.supplyAsync(() -> hash(password), pool());
+    }
+
+    public CompletableFuture<Boolean> verifyAsync(char[] password, String encoded) {
+        return CompletableFuture.supplyAsync(() -> verify(password, encoded), pool());
+    }
+
+    /**
+     * Derives raw key with parameters of this hasher
+     *
+     * @param password to hash, cleared after use
+     * @param salt     salt bytes
+     * @return key bytes
+     */
+    public byte[] derive(char[] password, byte[] salt) {
+        return derive(algorithm, password, salt, iterations, keyLength);
+    }
+
+    /**
+     * Returns new random salt, base64 encoded
+     *
+     * @return salt
+     */
+    public String newSalt() {
+        return Base64.getEncoder().encodeToString(newSaltBytes());
+    }
+
+    public byte[] newSaltBytes() {
+        byte[] salt = new byte[saltLength];
+        RANDOM.get().nextBytes(salt);
+        return salt;
+    }
+
+    static byte[] derive(Algorithm algorithm, char[] password, byte[] salt, int iterations, int keyLength) {
+        PBEKeySpec spec = new PBEKeySpec(password, salt, iterations, keyLength);
+        Arrays.fill(password, '\0');
+        try {
+            return factory(algorithm).generateSecret(spec).getEncoded();
+        } catch (InvalidKeySpecException e) {
+            throw new AppException(e.getMessage(), e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    private static SecretKeyFactory factory(Algorithm algorithm) {
+        SecretKeyFactory[] factories = FACTORIES.get();
+        SecretKeyFactory f = factories[algorithm.ordinal()];
+        if (f == null) {
+            try {
+                f = SecretKeyFactory.getInstance(algorithm.jcaName);
+            } catch (NoSuchAlgorithmException e) {
+                throw new AppException("Algorithm " + algorithm.jcaName + " not available", e);
+            }
+            factories[algorithm.ordinal()] = f;
+        }
+        return f;
+    }
+
+    private ThreadPoolExecutor pool() {
+        if (pool == null) {
+            synchronized (this) {
+                if (pool == null) {
+                    int id = POOL_ID.incrementAndGet();
+                    AtomicInteger count = new AtomicInteger();
+                    ThreadPoolExecutor p = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES,
+                            new LinkedBlockingQueue<>(), r -> {
+                        Thread t = new Thread(r, "password-hasher-" + id + "-" + count.incrementAndGet());
+                        t.setDaemon(true);
+                        return t;
+                    });
+                    // idle threads end so an unused hasher holds no threads
+                    p.allowCoreThreadTimeOut(true);
+                    pool = p;
+                }
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Parts of an encoded hash
+     */
+    static final class Encoded {
+        final Algorithm algorithm;
+        final int iterations, keyLength;
+        final byte[] salt, hash;
+
+        private Encoded(Algorithm algorithm, int iterations, int keyLength, byte[] salt, byte[] hash) {
+            this.algorithm = algorithm;
+            this.iterations = iterations;
+            this.keyLength = keyLength;
+            this.salt = salt;
+            this.hash = hash;
+        }
+
+        static Encoded parse(String encoded) {
+            String[] parts = encoded == null ? new String[0] : encoded.split("\\$", -1);
+            if (parts.length != 5 || !parts[0].isEmpty() || !parts[1].startsWith(PREFIX)) {
+                throw new AppException("Invalid password hash format");
+            }
+            Algorithm algorithm = Algorithm.fromId(parts[1].substring(PREFIX.length()));
+            int iterations = -1, keyLength = -1;
+            for (String param : parts[2].split(",")) {
+                if (param.startsWith("i=")) {
+                    iterations = ParseUtils.parseInt(param, 2, param.length() - 2, -1);
+                } else if (param.startsWith("l=")) {
+                    keyLength = ParseUtils.parseInt(param, 2, param.length() - 2, -1);
+                }
+            }
+            if (iterations <= 0 || iterations > MAX_ITERATIONS || keyLength <= 0) {
+                throw new AppException("Invalid password hash parameters " + Utils.addBraces(parts[2]));
+            }
+            byte[] salt, hash;
+            try {
+                Base64.Decoder dec = Base64.getDecoder();
+                salt = dec.decode(parts[3]);
+                hash = dec.decode(parts[4]);
+            } catch (IllegalArgumentException e) {
+                throw new AppException("Invalid password hash encoding", e);
+            }
+            if (keyLength != hash.length * 8) {
+                throw new AppException("Password hash length does not match " + Utils.addBraces(parts[2]));
+            }
+            return new Encoded(algorithm, iterations, keyLength, salt, hash);
+        }
+    }
+
+    public static final class Builder {
+        private Algorithm algorithm = DEFAULT_ALGORITHM;
+        private int iterations = DEFAULT_ITERATIONS;
+        private int keyLength;
+        private int saltLength = DEFAULT_SALT_LENGTH;
+        private int threads = Math.max(Runtime.getRuntime().availableProcessors() / 2, 1);
+
+        private Builder() {
+        }
+
+        public Builder algorithm(Algorithm algorithm) {
+            this.algorithm = algorithm;
+            return this;
+        }
+
+        /**
+         * Iterations for new hashes, at most {@link PasswordHasher#MAX_ITERATIONS}
+         *
+         * @param iterations PBKDF2 iterations
+         * @return this builder
+         */
+        public Builder iterations(int iterations) {
+            this.iterations = Math.min(Math.max(iterations, 1), MAX_ITERATIONS);
+            return this;
+        }
+
+        /**
+         * Derived key length, default is output size of algorithm.
+         * Rounded up to whole bytes so stored hashes can be verified.
+         *
+         * @param keyLength in bits
+         * @return this builder
+         */
+        public Builder keyLength(int keyLength) {
+            this.keyLength = keyLength > 0 ? (keyLength + 7) / 8 * 8 : 0;
+            return this;
+        }
+
+        /**
+         * Salt length for new hashes, NIST recommends at least 16
+         *
+         * @param saltLength in bytes
+         * @return this builder
+         */
+        public Builder saltLength(int saltLength) {
+            this.saltLength = Math.max(saltLength, 1);
+            return this;
+        }
+
+        /**
+         * Threads of async pool, default is half the processors
+         *
+         * @param threads pool size
+         * @return this builder
+         */
+        public Builder threads(int threads) {
+            this.threads = Math.max(threads, 1);
+            return this;
+        }
+
+        public PasswordHasher build() {
+            return new PasswordHasher(this);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.sv.core;
+
+import com.sv.core.exception.AppException;
+import com.sv.core.io.LineHandler;
+import com.sv.core.io.LineReader;
+import com.sv.core.io.LineRingBuffer;
+import com.sv.core.logger.MyLogger;
+import com.sv.core.process.ProcessRunner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.sv.core.Constants.*;
+
+/**
+ * Helpers to start processes and read their output.  For timeouts,
+ * exit codes and bounded output use {@link ProcessRunner}.
+ */
+public final class ProcessUtils {
+
+    private ProcessUtils() {
+    }
+
+    /**
+     * This method will execute command passed
+     *
+     * @param cmd command to run
+     * @return exception message in case of error else empty string
+     */
+    public static String runCmd(String cmd) {
+        return runCmd(cmd, null);
+    }
+
+    /**
+     * This method will execute command passed
+     *
+     * @param cmd    command to run
+     * @param logger MyLogger object to print error details
+     * @return exception message in case of error else empty string
+     */
+    public static String runCmd(String cmd, MyLogger logger) {
+        try {
+            ProcessRunner.discardOutput(runProcess(cmd, logger));
+        } catch (AppException e) {
+            return e.getMessage();
+        }
+        return EMPTY;
+    }
+
+    /**
+     * Logs each non empty line of process output as info and of
+     * error output as warn, as soon as the line is read.  Returns
+     * when both streams end.
+     *
+     * @param process started process
+     * @param logger  MyLogger object
+     */
+    public static void logProcessOutput(Process process, MyLogger logger) {
+        LongAdder logged = new LongAdder();
+        CompletableFuture<Long> error = CompletableFuture.supplyAsync(
+                () -> readStreamLines(process.getErrorStream(), (line, n) -> {
+                    logProcessLine(line, logger, true, logged);
+                    return true;
+                }, logger), ProcessRunner.streamExecutor());
+        readStreamLines(process.getInputStream(), (line, n) -> {
+            logProcessLine(line, logger, false, logged);
+            return true;
+        }, logger);
+        error.join();
+        if (logger != null && logged.sum() == 0) {
+            logger.info("No process output");
+        }
+    }
+
+    private static void logProcessLine(CharSequence line, MyLogger logger, boolean error, LongAdder logged) {
+        if (logger != null && line.length() > 0) {
+            if (error) {
+                logger.warn(line.toString());
+            } else {
+                logger.info(line.toString());
+            }
+            logged.increment();
+        }
+    }
+
+    /**
+     * Returns output of process, or its error output if there is no output.
+     * Both streams are read at the same time so process can not block on
+     * a full error pipe.  For timeouts and exit code use {@link ProcessRunner}.
+     *
+     * @param process started process
+     * @param logger  MyLogger object
+     * @return output lines joined
+     */
+    public static String getProcessOutput(Process process, MyLogger logger) {
+        CompletableFuture<String> error = CompletableFuture.supplyAsync(
+                () -> getStreamOutput(process.getErrorStream(), logger), ProcessRunner.streamExecutor());
+        String data = getStreamOutput(process.getInputStream(), logger);
+        if (!StringUtils.hasValue(data)) {
+            if (logger != null) {
+                logger.warn("No data from process. Checking error stream.");
+            }
+            data = error.join();
+        }
+
+        return data;
+    }
+
+    /**
+     * Returns non empty lines of stream joined without line breaks.
+     * Use {@link #readStreamLines(InputStream, LineHandler, MyLogger)}
+     * to get lines as they arrive.
+     *
+     * @param stream to read, closed at end
+     * @param logger MyLogger object
+     * @return joined lines
+     */
+    public static String getStreamOutput(InputStream stream, MyLogger logger) {
+        StringBuilder sb = new StringBuilder();
+        readStreamLines(stream, (line, n) -> {
+            sb.append(line);
+            return true;
+        }, logger);
+        return sb.toString();
+    }
+
+    /**
+     * Returns only the last lines of stream, older lines are dropped
+     * while reading so memory does not grow with output size
+     *
+     * @param stream   to read, closed at end
+     * @param maxLines number of lines to keep
+     * @param logger   MyLogger object
+     * @return last lines, oldest first
+     */
+    public static List<String> getStreamOutput(InputStream stream, int maxLines, MyLogger logger) {
+        LineRingBuffer ring = new LineRingBuffer(maxLines);
+        readStreamLines(stream, ring, logger);
+        return ring.getLines();
+    }
+
+    /**
+     * Passes each line of stream to handler as soon as it is read.
+     * Line is a reused view so call `toString()` to keep it.
+     *
+     * @param stream  to read with default charset, closed at end
+     * @param handler line callback, return false to stop
+     * @param logger  MyLogger object
+     * @return number of lines passed to handler
+     */
+    public static long readStreamLines(InputStream stream, LineHandler<CharSequence> handler, MyLogger logger) {
+        try (InputStream in = stream) {
+            return LineReader.forEachLine(in, Charset.defaultCharset(), handler);
+        } catch (IOException e) {
+            if (logger != null) {
+                logger.error(e);
+            }
+        }
+        return 0;
+    }
+
+    public static Process runProcess(String cmd) throws AppException {
+        return runProcess(cmd, null);
+    }
+
+    public static Process runProcess(String cmd, MyLogger logger) throws AppException {
+        return runProcess(new String[]{cmd}, logger);
+    }
+
+    public static Process runProcess(String[] cmds, MyLogger logger) throws AppException {
+        cmds = checkAllArgs(cmds);
+        if (logger != null) {
+            logger.info("Running command " + Arrays.asList(cmds));
+        }
+        try {
+            return new ProcessBuilder(cmds).start();
+        } catch (IOException e) {
+            if (logger != null) {
+                logger.error(e);
+            }
+            throw new AppException(e.getMessage());
+        }
+    }
+
+    // splits on spaces outside double quotes, so quoted paths stay one argument
+    private static String[] checkAllArgs(String[] cmds) {
+        List<String> cmdList = new ArrayList<>();
+        for (String cmd : cmds) {
+            if (cmd.contains(SPACE)) {
+                cmdList.addAll(ProcessRunner.tokenize(cmd));
+            } else {
+                cmdList.add(cmd);
+            }
+        }
+        return cmdList.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,31 @@
+package com.sv.core;
+
+import com.sv.core.logger.MyLogger;
+
+/**
+ * Receives progress of a long running operation
+ */
+@FunctionalInterface
+public interface ProgressListener {
+
+    /**
+     * Called as work is done, may be called from other threads
+     *
+     * @param done  units done so far
+     * @param total units in all, -1 if not known
+     */
+    void onProgress(long done, long total);
+
+    /**
+     * Returns listener that logs bytes done as size strings
+     * like <pre>Copying [1.50MB] of [10.00MB]</pre>
+     *
+     * @param logger MyLogger object
+     * @param action text to start message
+     * @return listener
+     */
+    static ProgressListener logSizes(MyLogger logger, String action) {
+        return (done, total) -> logger.info(action + Constants.SPACE + Utils.getSizeString(done)
+                + (total < 0 ? Constants.EMPTY : " of " + Utils.getSizeString(total)));
+    }
+}
@@ -0,0 +1,494 @@
+package com.sv.core;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Runs delayed and periodic tasks on a few daemon threads, so waiting
+ * does not hold a thread.  Pending timers only take a queue entry and
+ * are removed from queue when cancelled, so thousands of them are cheap.
+ * <p>
+ * Tasks run on scheduler threads and should be short, hand longer work
+ * to another executor.  Returned futures can be cancelled, which stops
+ * pending runs.
+ */
+public final class Scheduler {
+
+    private static final AtomicInteger POOL_ID = new AtomicInteger();
+
+    private static volatile Scheduler defaultInstance;
+
+    private final ScheduledThreadPoolExecutor executor;
+
+    private Scheduler(Builder b) {
+        int id = POOL_ID.incrementAndGet();
+        AtomicInteger count = new AtomicInteger();
+        executor = new ScheduledThreadPoolExecutor(b.threads, r -> {
+            Thread t = new Thread(r, b.name + "-" + id + "-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Shared instance with one thread, created on first use
+     *
+     * @return Scheduler
+     */
+    public static Scheduler getDefault() {
+        if (defaultInstance == null) {
+            synchronized (Scheduler.class) {
+                if (defaultInstance == null) {
+                    defaultInstance = builder().name("core-scheduler").build();
+                }
+            }
+        }
+        return defaultInstance;
+    }
+
+    /**
+     * Returns a future completed after delay, a non blocking replacement
+     * of {@link TimeUtils#sleep(long)}
+     *
+     * @param delay time to wait
+     * @param unit  unit of delay
+     * @return future
+     */
+    public CompletableFuture<Void> delay(long delay, TimeUnit unit) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        cancelWith(result, () -> executor.schedule(() -> result.complete(null), delay, unit));
+        return result;
+    }
+
+    /**
+     * Runs task once after delay
+     *
+     * @param task  to run
+     * @param delay time to wait
+     * @param unit  unit of delay
+     * @return future completed when task ends
+     */
+    public CompletableFuture<Void> schedule(Runnable task, long delay, TimeUnit unit) {
+        return schedule(task, delay, 0, unit);
+    }
+
+    /**
+     * Runs task once after delay plus a random part of jitter, so
+     * tasks scheduled together do not all run at the same time
+     *
+     * @param task   to run
+     * @param delay  time to wait
+     * @param jitter maximum time added at random
+     * @param unit   unit of delay and jitter
+     * @return future completed when task ends
+     */
+    public CompletableFuture<Void> schedule(Runnable task, long delay, long jitter, TimeUnit unit) {
+        return schedule(() -> {
+            task.run();
+            return null;
+        }, delay, jitter, unit);
+    }
+
+    /**
+     * Calls task once after delay plus a random part of jitter
+     *
+     * @param task   to call
+     * @param delay  time to wait
+     * @param jitter maximum time added at random
+     * @param unit   unit of delay and jitter
+     * @param <T>    result type
+     * @return future of task result
+     */
+    public <T> CompletableFuture<T> schedule(Callable<T> task, long delay, long jitter, TimeUnit unit) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        cancelWith(result, () -> executor.schedule(() -> call(task, result), withJitter(delay, jitter), unit));
+        return result;
+    }
+
+    /**
+     * Runs task at a fixed rate.  If a run fails the returned future
+     * completes with its exception and no more runs happen.
+     *
+     * @param task         to run
+     * @param initialDelay time before first run
+     * @param period       time between start of runs
+     * @param unit         unit of times
+     * @return future that only completes on failure or cancel
+     */
+    public CompletableFuture<Void> scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        cancelWith(result, () -> executor.scheduleAtFixedRate(() -> runPeriodic(task, result),
+                initialDelay, period, unit));
+        return result;
+    }
+
+    /**
+     * Runs task repeatedly, waiting delay plus a random part of jitter
+     * after each run ends.  If a run fails the returned future completes
+     * with its exception and no more runs happen.
+     *
+     * @param task   to run
+     * @param delay  time between end of a run and start of next
+     * @param jitter maximum time added at random to each delay
+     * @param unit   unit of times
+     * @return future that only completes on failure or cancel
+     */
+    public CompletableFuture<Void> scheduleWithFixedDelay(Runnable task, long delay, long jitter, TimeUnit unit) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        scheduleNext(task, delay, jitter, unit, result, timerOf(result));
+        return result;
+    }
+
+    /**
+     * Calls task on common pool till it succeeds, waiting as per backoff
+     * between attempts.  For blocking calls use
+     * {@link #retry(Callable, Backoff, Executor)} with own executor.
+     *
+     * @param task    to call
+     * @param backoff delays and attempts
+     * @param <T>     result type
+     * @return future of first successful result, or of last failure
+     */
+    public <T> CompletableFuture<T> retry(Callable<T> task, Backoff backoff) {
+        return retry(task, backoff, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Calls task on executor till it succeeds, waiting as per backoff
+     * between attempts.  Only the waits use scheduler threads.
+     *
+     * @param task     to call
+     * @param backoff  delays and attempts
+     * @param executor to run attempts on
+     * @param <T>      result type
+     * @return future of first successful result, or of last failure
+     */
+    public <T> CompletableFuture<T> retry(Callable<T> task, Backoff backoff, Executor executor) {
+        return retryAsync(() -> CompletableFuture.supplyAsync(() -> {
+            try {
+                return task.call();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, executor), backoff);
+    }
+
+    /**
+     * Same as {@link #retry(Callable, Backoff)} for tasks that are async
+     * themselves, like a {@link com.sv.core.process.ProcessRunner} call.
+     * Task is called on a scheduler thread so it should only start the
+     * attempt and return.
+     *
+     * @param task    returns future of an attempt
+     * @param backoff delays and attempts
+     * @param <T>     result type
+     * @return future of first successful result, or of last failure
+     */
+    public <T> CompletableFuture<T> retryAsync(Supplier<? extends CompletableFuture<T>> task, Backoff backoff) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicReference<ScheduledFuture<?>> timer = timerOf(result);
+        scheduleTimer(result, timer, () -> attempt(task, backoff, 1, result, timer), 0, TimeUnit.MILLISECONDS);
+        return result;
+    }
+
+    /**
+     * Stops this scheduler, its waiting tasks never run.  Shared
+     * {@link #getDefault()} instance is used by other classes and
+     * cannot be shut down.
+     *
+     * @throws IllegalStateException if this is the default instance
+     */
+    public void shutdown() {
+        if (this == defaultInstance) {
+            throw new IllegalStateException("Default scheduler is shared and cannot be shut down");
+        }
+        executor.shutdownNow();
+    }
+
+    /**
+     * Number of tasks waiting for their time
+     *
+     * @return count
+     */
+    public int getPendingCount() {
+        return executor.getQueue().size();
+    }
+
+    private <T> void attempt(Supplier<? extends CompletableFuture<T>> task, Backoff backoff,
+                             int attempt, CompletableFuture<T> result, AtomicReference<ScheduledFuture<?>> timer) {
+        if (result.isDone()) {
+            return;
+        }
+        CompletableFuture<T> f;
+        try {
+            f = task.get();
+        } catch (RuntimeException e) {
+            f = new CompletableFuture<>();
+            f.completeExceptionally(e);
+        }
+        if (f == null) {
+            result.completeExceptionally(new IllegalStateException("Retry task returned no future"));
+            return;
+        }
+        f.whenComplete((v, e) -> {
+            if (e == null) {
+                result.complete(v);
+                return;
+            }
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (attempt >= backoff.maxAttempts || !backoff.retryOn.test(cause)) {
+                result.completeExceptionally(cause);
+                return;
+            }
+            scheduleTimer(result, timer, () -> attempt(task, backoff, attempt + 1, result, timer),
+                    backoff.getDelayMillis(attempt), TimeUnit.MILLISECONDS);
+        });
+    }
+
+    private void scheduleNext(Runnable task, long delay, long jitter, TimeUnit unit,
+                              CompletableFuture<Void> result, AtomicReference<ScheduledFuture<?>> timer) {
+        scheduleTimer(result, timer, () -> {
+            if (runPeriodic(task, result)) {
+                scheduleNext(task, delay, jitter, unit, result, timer);
+            }
+        }, withJitter(delay, jitter), unit);
+    }
+
+    // returns false when stopped, rethrows failure so a fixed rate task ends
+    private static boolean runPeriodic(Runnable task, CompletableFuture<Void> result) {
+        if (result.isDone()) {
+            return false;
+        }
+        try {
+            task.run();
+            return true;
+        } catch (RuntimeException | Error e) {
+            result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static <T> void call(Callable<T> task, CompletableFuture<T> result) {
+        if (result.isDone()) {
+            return;
+        }
+        try {
+            result.complete(task.call());
+        } catch (Exception | Error e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    // cancelling the future removes its timer from queue
+    private static void cancelWith(CompletableFuture<?> result, Supplier<ScheduledFuture<?>> schedule) {
+        ScheduledFuture<?> timer = submit(result, schedule);
+        if (timer == null) {
+            return;
+        }
+        result.whenComplete((v, e) -> {
+            if (result.isCancelled()) {
+                timer.cancel(false);
+            }
+        });
+    }
+
+    // for tasks that schedule many timers, so only the current one is kept and cancelled
+    private static AtomicReference<ScheduledFuture<?>> timerOf(CompletableFuture<?> result) {
+        AtomicReference<ScheduledFuture<?>> timer = new AtomicReference<>();
+        result.whenComplete((v, e) -> {
+            ScheduledFuture<?> t = timer.get();
+            if (result.isCancelled() && t != null) {
+                t.cancel(false);
+            }
+        });
+        return timer;
+    }
+
+    private void scheduleTimer(CompletableFuture<?> result, AtomicReference<ScheduledFuture<?>> timer,
+                               Runnable task, long delay, TimeUnit unit) {
+        ScheduledFuture<?> next = submit(result, () -> executor.schedule(task, delay, unit));
+        if (next == null) {
+            return;
+        }
+        timer.set(next);
+        if (result.isCancelled()) {
+            // cancelled while scheduling
+            next.cancel(false);
+        }
+    }
+
+    // after shutdown result fails, as no timer will ever complete it
+    private static ScheduledFuture<?> submit(CompletableFuture<?> result, Supplier<ScheduledFuture<?>> schedule) {
+        try {
+            return schedule.get();
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+            return null;
+        }
+    }
+
+    private static long withJitter(long delay, long jitter) {
+        return jitter > 0 ? delay + ThreadLocalRandom.current().nextLong(jitter + 1) : delay;
+    }
+
+    /**
+     * Exponential backoff between retry attempts.  Delay of attempt n
+     * is initial * multiplier^(n-1), capped at max, then reduced by a
+     * random part of jitter so clients that failed together do not
+     * retry together.
+     */
+    public static final class Backoff {
+        private final long initialMillis, maxMillis;
+        private final double multiplier, jitter;
+        private final int maxAttempts;
+        private final Predicate<Throwable> retryOn;
+
+        private Backoff(Builder b) {
+            this.initialMillis = b.initialMillis;
+            this.maxMillis = Math.max(b.maxMillis, b.initialMillis);
+            this.multiplier = b.multiplier;
+            this.jitter = b.jitter;
+            this.maxAttempts = b.maxAttempts;
+            this.retryOn = b.retryOn;
+        }
+
+        public static Builder builder() {
+            return new Builder();
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        /**
+         * Delay after a failed attempt, with jitter applied
+         *
+         * @param attempt failed attempt, starting at 1
+         * @return milli seconds
+         */
+        public long getDelayMillis(int attempt) {
+            double d = initialMillis * Math.pow(multiplier, Math.max(attempt - 1, 0));
+            long delay = (long) Math.min(d, maxMillis);
+            if (jitter > 0) {
+                delay -= (long) (delay * jitter * ThreadLocalRandom.current().nextDouble());
+            }
+            return delay;
+        }
+
+        public static final class Builder {
+            private long initialMillis = 100;
+            private long maxMillis = TimeUnit.SECONDS.toMillis(30);
+            private double multiplier = 2;
+            private double jitter = 0.5;
+            private int maxAttempts = 5;
+            private Predicate<Throwable> retryOn = e -> true;
+
+            private Builder() {
+            }
+
+            public Builder initialDelay(long delay, TimeUnit unit) {
+                this.initialMillis = Math.max(unit.toMillis(delay), 0);
+                return this;
+            }
+
+            public Builder maxDelay(long delay, TimeUnit unit) {
+                this.maxMillis = Math.max(unit.toMillis(delay), 0);
+                return this;
+            }
+
+            /**
+             * Growth of delay per attempt, default is 2
+             *
+             * @param multiplier at least 1
+             * @return this builder
+             */
+            public Builder multiplier(double multiplier) {
+                this.multiplier = Math.max(multiplier, 1);
+                return this;
+            }
+
+            /**
+             * Part of delay removed at random, default is 0.5
+             *
+             * @param jitter between 0 and 1
+             * @return this builder
+             */
+            public Builder jitter(double jitter) {
+                this.jitter = Math.min(Math.max(jitter, 0), 1);
+                return this;
+            }
+
+            /**
+             * Attempts including the first, default is 5
+             *
+             * @param maxAttempts at least 1
+             * @return this builder
+             */
+            public Builder maxAttempts(int maxAttempts) {
+                this.maxAttempts = Math.max(maxAttempts, 1);
+                return this;
+            }
+
+            /**
+             * Failures for which to retry, default is all
+             *
+             * @param retryOn test on cause of failure
+             * @return this builder
+             */
+            public Builder retryOn(Predicate<Throwable> retryOn) {
+                this.retryOn = retryOn;
+                return this;
+            }
+
+            public Backoff build() {
+                return new Backoff(this);
+            }
+        }
+    }
+
+    public static final class Builder {
+        private String name = "scheduler";
+        private int threads = 1;
+
+        private Builder() {
+        }
+
+        /**
+         * Prefix of thread names
+         *
+         * @param name thread name prefix
+         * @return this builder
+         */
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder threads(int threads) {
+            this.threads = Math.max(threads, 1);
+            return this;
+        }
+
+        public Scheduler build() {
+            return new Scheduler(this);
+        }
+    }
+}
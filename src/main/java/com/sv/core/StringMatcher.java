@@ -0,0 +1,271 @@
+package com.sv.core;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Matcher built once from a fixed string array.  Exact lookups
+ * use a case folded hash table and starts-with lookups use a prefix trie,
+ * so no string is created or lower cased while matching.
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ */
+public final class StringMatcher {
+
+    private static final int EMPTY_SLOT = -1;
+
+    private final String[] values;
+    private final int[] table;
+    private final int mask;
+    private final Node root = new Node();
+
+    /**
+     * Creates matcher for values of array, null elements are ignored.
+     * Order of array is kept for lookups that return first match.
+     *
+     * @param arr String array
+     */
+    public StringMatcher(String[] arr) {
+        values = Arrays.stream(arr).filter(a -> a != null).toArray(String[]::new);
+        int capacity = Integer.highestOneBit(Math.max(values.length, 1) * 2) * 2;
+        table = new int[capacity];
+        Arrays.fill(table, EMPTY_SLOT);
+        mask = capacity - 1;
+        for (int i = 0; i < values.length; i++) {
+            String v = values[i];
+            int slot = hash(v, 0, v.length()) & mask;
+            while (table[slot] != EMPTY_SLOT) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = i;
+            root.add(v, i);
+        }
+    }
+
+    public static StringMatcher of(String... arr) {
+        return new StringMatcher(arr);
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Check if val is present.  Search is not case-sensitive
+     *
+     * @param val string to search
+     * @return boolean
+     */
+    public boolean contains(CharSequence val) {
+        return contains(val, 0, val.length(), false);
+    }
+
+    public boolean contains(CharSequence val, boolean matchCase) {
+        return contains(val, 0, val.length(), matchCase);
+    }
+
+    /**
+     * Check if range of val is present
+     *
+     * @param val       string to search
+     * @param start     index inclusive
+     * @param end       index exclusive
+     * @param matchCase if case-sensitive
+     * @return boolean
+     */
+    public boolean contains(CharSequence val, int start, int end, boolean matchCase) {
+        int len = end - start;
+        int slot = hash(val, start, end) & mask;
+        while (table[slot] != EMPTY_SLOT) {
+            String v = values[table[slot]];
+            if (v.length() == len && regionMatches(v, val, start, len, !matchCase)) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Check if any value starts with prefix.  Search is not case-sensitive
+     *
+     * @param prefix to search
+     * @return boolean
+     */
+    public boolean hasPrefix(CharSequence prefix) {
+        return hasPrefix(prefix, 0, prefix.length(), false);
+    }
+
+    public boolean hasPrefix(CharSequence prefix, boolean matchCase) {
+        return hasPrefix(prefix, 0, prefix.length(), matchCase);
+    }
+
+    /**
+     * Check if any value starts with range of prefix
+     *
+     * @param prefix    to search
+     * @param start     index inclusive
+     * @param end       index exclusive
+     * @param matchCase if case-sensitive
+     * @return boolean
+     */
+    public boolean hasPrefix(CharSequence prefix, int start, int end, boolean matchCase) {
+        return firstIdxWithPrefix(prefix, start, end, matchCase) != EMPTY_SLOT;
+    }
+
+    /**
+     * Returns first value, in array order, that starts
+     * with prefix.  Search is not case-sensitive
+     *
+     * @param prefix to search
+     * @return matched value or null
+     */
+    public String firstWithPrefix(CharSequence prefix) {
+        int idx = firstIdxWithPrefix(prefix, 0, prefix.length(), false);
+        return idx == EMPTY_SLOT ? null : values[idx];
+    }
+
+    /**
+     * Returns the remaining part of first value that
+     * starts with prefix.  Search is not case-sensitive
+     *
+     * @param prefix to search
+     * @return remaining sub string or empty string
+     */
+    public String completion(CharSequence prefix) {
+        String v = firstWithPrefix(prefix);
+        return v == null ? Constants.EMPTY : v.substring(prefix.length());
+    }
+
+    /**
+     * Passes every value, in array order, that starts with
+     * prefix to consumer.  Search is not case-sensitive
+     *
+     * @param prefix   to search
+     * @param consumer to receive values
+     */
+    public void forEachWithPrefix(CharSequence prefix, Consumer<String> consumer) {
+        Node n = find(prefix, 0, prefix.length());
+        if (n != null) {
+            n.forEach(values, consumer);
+        }
+    }
+
+    private int firstIdxWithPrefix(CharSequence prefix, int start, int end, boolean matchCase) {
+        Node n = find(prefix, start, end);
+        if (n == null) {
+            return EMPTY_SLOT;
+        }
+        if (!matchCase) {
+            return n.first;
+        }
+        int len = end - start;
+        for (int i = n.first; i < values.length; i++) {
+            String v = values[i];
+            if (v.length() >= len && regionMatches(v, prefix, start, len, false)) {
+                return i;
+            }
+        }
+        return EMPTY_SLOT;
+    }
+
+    private Node find(CharSequence s, int start, int end) {
+        Node n = root;
+        for (int i = start; i < end && n != null; i++) {
+            n = n.child(fold(s.charAt(i)));
+        }
+        return n;
+    }
+
+    private static boolean regionMatches(String v, CharSequence s, int start, int len, boolean ignoreCase) {
+        for (int i = 0; i < len; i++) {
+            char a = v.charAt(i), b = s.charAt(start + i);
+            if (a != b && (!ignoreCase || fold(a) != fold(b))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(CharSequence s, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + fold(s.charAt(i));
+        }
+        return h ^ (h >>> 16);
+    }
+
+    // same folding as String.equalsIgnoreCase
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        // smallest value index below this node
+        private int first = EMPTY_SLOT;
+        // indexes of values ending at this node
+        private int[] ends = new int[0];
+
+        void add(String v, int idx) {
+            Node n = this;
+            if (n.first == EMPTY_SLOT) {
+                n.first = idx;
+            }
+            for (int i = 0; i < v.length(); i++) {
+                n = n.getOrCreate(fold(v.charAt(i)));
+                if (n.first == EMPTY_SLOT) {
+                    n.first = idx;
+                }
+            }
+            n.ends = Arrays.copyOf(n.ends, n.ends.length + 1);
+            n.ends[n.ends.length - 1] = idx;
+        }
+
+        Node child(char c) {
+            int pos = Arrays.binarySearch(keys, c);
+            return pos < 0 ? null : children[pos];
+        }
+
+        private Node getOrCreate(char c) {
+            int pos = Arrays.binarySearch(keys, c);
+            if (pos >= 0) {
+                return children[pos];
+            }
+            pos = -pos - 1;
+            char[] k = new char[keys.length + 1];
+            Node[] ch = new Node[children.length + 1];
+            System.arraycopy(keys, 0, k, 0, pos);
+            System.arraycopy(children, 0, ch, 0, pos);
+            System.arraycopy(keys, pos, k, pos + 1, keys.length - pos);
+            System.arraycopy(children, pos, ch, pos + 1, children.length - pos);
+            Node n = new Node();
+            k[pos] = c;
+            ch[pos] = n;
+            keys = k;
+            children = ch;
+            return n;
+        }
+
+        void forEach(String[] values, Consumer<String> consumer) {
+            // values under a node are not contiguous so collect by index order
+            boolean[] marked = new boolean[values.length];
+            mark(marked);
+            for (int i = first; i < values.length; i++) {
+                if (marked[i]) {
+                    consumer.accept(values[i]);
+                }
+            }
+        }
+
+        private void mark(boolean[] marked) {
+            for (int i : ends) {
+                marked[i] = true;
+            }
+            for (Node n : children) {
+                n.mark(marked);
+            }
+        }
+    }
+}
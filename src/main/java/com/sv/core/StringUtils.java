@@ -0,0 +1,436 @@
+package com.sv.core;
+
+import java.util.Arrays;
+
+import static com.sv.core.Constants.*;
+
+/**
+ * String checks, conversions and formatting.  Depends only on
+ * java.lang and java.util so it is cheap to load.
+ */
+public final class StringUtils {
+
+    private StringUtils() {
+    }
+
+    /**
+     * Escape html characters from `HtmlEsc` enum
+     *
+     * @param data string to escape
+     * @return escaped string
+     * @see HtmlEscaper
+     */
+    public static String escape(String data) {
+        return HtmlEscaper.escape(data);
+    }
+
+    /**
+     * Opposite of escaping
+     *
+     * @param data string to unescape
+     * @return unescaped string
+     * @see HtmlEscaper
+     */
+    public static String unescape(String data) {
+        return HtmlEscaper.unescape(data);
+    }
+
+    /**
+     * Return true if param has non-null value
+     *
+     * @param item string to be checked
+     * @return boolean status of operation
+     */
+    public static boolean hasValue(String item) {
+        return ((item != null) && (item.length() > 0));
+    }
+
+    /**
+     * Return true if param "null"
+     *
+     * @param item string to be checked
+     * @return boolean status of operation
+     */
+    public static boolean isNullStr(String item) {
+        return item != null && item.equalsIgnoreCase(NULL_STR);
+    }
+
+    /**
+     * Check if val param is present in array.  Search is not case-sensitive
+     *
+     * @param arr String array
+     * @param val string to search
+     * @return boolean
+     */
+    public static boolean isInArray(String[] arr, String val) {
+        String finalVal = val.trim();
+        return Arrays.stream(arr).anyMatch(a -> a.equalsIgnoreCase(finalVal));
+    }
+
+    public static boolean isInArrayMatchStart(String[] arr, String val) {
+        String finalVal = val.trim().toLowerCase();
+        return Arrays.stream(arr).anyMatch(a -> a.toLowerCase().startsWith(finalVal));
+    }
+
+    public static boolean isInArrayMatchStart(String[] arr, String val, boolean matchCase) {
+        String finalVal = val.trim();
+        if (matchCase) {
+            return Arrays.stream(arr).anyMatch(a -> a.startsWith(finalVal));
+        }
+        return isInArrayMatchStart(arr, val);
+    }
+
+    public static boolean isInArray(String[] arr, String val, boolean matchCase) {
+        if (matchCase) {
+            return Arrays.asList(arr).contains(val);
+        }
+        return isInArray(arr, val);
+    }
+
+    /**
+     * Check if val param is present in matcher.  Search is not case-sensitive.
+     * Use this for fixed arrays that are searched repeatedly.
+     *
+     * @param matcher created once from String array
+     * @param val     string to search
+     * @return boolean
+     */
+    public static boolean isInArray(StringMatcher matcher, String val) {
+        return isInArray(matcher, val, false);
+    }
+
+    public static boolean isInArray(StringMatcher matcher, String val, boolean matchCase) {
+        if (matchCase) {
+            return matcher.contains(val, true);
+        }
+        // trims like isInArray(String[], String) without creating a new string
+        int start = trimStart(val), end = trimEnd(val, start);
+        return matcher.contains(val, start, end, false);
+    }
+
+    public static boolean isInArrayMatchStart(StringMatcher matcher, String val) {
+        return isInArrayMatchStart(matcher, val, false);
+    }
+
+    public static boolean isInArrayMatchStart(StringMatcher matcher, String val, boolean matchCase) {
+        int start = trimStart(val), end = trimEnd(val, start);
+        return matcher.hasPrefix(val, start, end, matchCase);
+    }
+
+    private static int trimStart(String s) {
+        int i = 0, len = s.length();
+        while (i < len && s.charAt(i) <= ' ') {
+            i++;
+        }
+        return i;
+    }
+
+    private static int trimEnd(String s, int start) {
+        int i = s.length();
+        while (i > start && s.charAt(i - 1) <= ' ') {
+            i--;
+        }
+        return i;
+    }
+
+    /**
+     * Return the boolean equivalent of the string argument.
+     *
+     * @param value Value containing string representation of a boolean value.
+     * @return Boolean true/false depending on the value of the input.
+     * @throws Exception Thrown if input does not have a valid value.
+     */
+    public static boolean getBoolean(String value) throws Exception {
+        if (!hasValue(value)) {
+            throw new Exception("ERROR: Can't convert a null/empty string value to a boolean.");
+        }
+
+        if (!ParseUtils.isValidBoolean(value)) {
+            throw new Exception("ERROR: Candidate boolean value [" + value.trim()
+                    + "] not in valid-value set [" + VALID_BOOLEANS + "].");
+        }
+        return ParseUtils.parseBoolean(value, false);
+    }
+
+    //Constructed once, list of valid values for error message
+    private static final String VALID_BOOLEANS =
+            String.join(", ", trueValues) + ", " + String.join(", ", falseValues);
+
+    /**
+     * Return the boolean equivalent of the string argument.
+     *
+     * @param value       Value containing string representation of a boolean value.
+     * @param defaultBool Default boolean to use if the value is empty
+     *                    or if it is an invalid value.
+     * @return Boolean true/false depending on the value of the input.
+     */
+    public static boolean getBoolean(String value, boolean defaultBool) {
+        return ParseUtils.parseBoolean(value, defaultBool);
+    }
+
+    /**
+     * Returns true if char is numeric, else false
+     *
+     * @param ch char to check
+     * @return boolean status of operation
+     */
+    public static boolean isNumeric(char ch) {
+        int zero = '0';
+        int nine = '9';
+
+        return (int) ch <= nine && (int) ch >= zero;
+    }
+
+    /**
+     * Returns true if char is alphabetic, else false
+     *
+     * @param ch char to check
+     * @return boolean status of operation
+     */
+    public static boolean isAlphabet(char ch) {
+        return isUpper(ch) || isLower(ch);
+    }
+
+    public static boolean isUpper(char ch) {
+        int A = 'A';
+        int Z = 'Z';
+
+        return (int) ch <= Z && (int) ch >= A;
+    }
+
+    public static boolean isLower(char ch) {
+        int a = 'a';
+        int z = 'z';
+
+        return (int) ch <= z && (int) ch >= a;
+    }
+
+    public static String getSizeString(long sz) {
+        return getSizeString(sz, true, true, 2);
+    }
+
+    public static String formatNumber(double n) {
+        return FormatUtils.formatNumber(n);
+    }
+
+    /**
+     * Returns string for a size that could
+     * be in GB or MB or KB or in bytes.
+     *
+     * @param sz             size in bytes
+     * @param addBraces      - if need [ ] around result
+     * @param addBSuffix     - if B added like MB or just M
+     * @param digitsAfterDot - How many digits after dot
+     * @return size notation e.g. 1024 becomes 1KB
+     */
+    public static String getSizeString(long sz, boolean addBraces, boolean addBSuffix, int digitsAfterDot) {
+        return FormatUtils.appendSize(new StringBuilder(16), sz, addBraces, addBSuffix, digitsAfterDot).toString();
+    }
+
+    /**
+     * This method matches; in lowercase; given string from array of strings.
+     * If there is a match then returns the remaining sub string.
+     *
+     * @param s   to search
+     * @param arr of String
+     * @return sub string
+     */
+    public static String getMatchedLCSubStr(String s, String[] arr) {
+        String lc = s.toLowerCase();
+        return Arrays.stream(arr)
+                .filter(a -> a.toLowerCase().startsWith(lc))
+                .findFirst()
+                .map(a -> a.substring(s.length()))
+                .orElse("");
+    }
+
+    /**
+     * Same as {@link #getMatchedLCSubStr(String, String[])} using a matcher
+     * created once from String array
+     *
+     * @param s       to search
+     * @param matcher created from String array
+     * @return sub string
+     */
+    public static String getMatchedLCSubStr(String s, StringMatcher matcher) {
+        return matcher.completion(s);
+    }
+
+    public static boolean isSpecialChar(char ch) {
+        return SPECIAL_CHAR_CLASS.contains(ch);
+    }
+
+    public static boolean isWholeWordChar(char ch) {
+        return !CharClass.ALPHA_NUM.contains(ch);
+    }
+
+    public static boolean isInCharArr(Character[] arr, char ch) {
+        for (Character a : arr) {
+            if (a == ch) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static String filterFromCharArr(Character[] allowed, String toCheck) {
+        int len = toCheck.length(), n = 0;
+        char[] buf = new char[len];
+        for (int i = 0; i < len; i++) {
+            char c = toCheck.charAt(i);
+            if (isInCharArr(allowed, c)) {
+                buf[n++] = c;
+            }
+        }
+        return n == len ? toCheck : new String(buf, 0, n);
+    }
+
+    public static String filterFromCharArr(CharClass allowed, String toCheck) {
+        return allowed.filter(toCheck);
+    }
+
+    public static String filterNumbers(String toCheck) {
+        return NUM_CHAR_CLASS.filter(toCheck);
+    }
+
+    /**
+     * Returns default value for invalid input without
+     * creating any exception
+     *
+     * @param s          int as string
+     * @param defaultVal default value
+     * @return int
+     * @see ParseUtils
+     */
+    public static int convertToInt(String s, int defaultVal) {
+        return ParseUtils.parseInt(s, defaultVal);
+    }
+
+    /**
+     * This method will return 0 in case of exception
+     *
+     * @param s int as string
+     * @return int
+     */
+    public static int convertToInt(String s) {
+        return convertToInt(s, 0);
+    }
+
+    public static int convertToInt(String s, int defaultVal, int min, int max) {
+        int val = convertToInt(s, defaultVal);
+        return (val >= min && val <= max) ? val : defaultVal;
+    }
+
+    public static int validateInt(int val, int defaultVal, int min, int max) {
+        return (val >= min && val <= max) ? val : defaultVal;
+    }
+
+    public static long convertToLong(String s) {
+        return convertToLong(s, 0);
+    }
+
+    public static long convertToLong(String s, long defaultVal) {
+        return ParseUtils.parseLong(s, defaultVal);
+    }
+
+    public static long convertToLong(String s, long defaultVal, long min, long max) {
+        long val = convertToLong(s, defaultVal);
+        return (val >= min && val <= max) ? val : defaultVal;
+    }
+
+    public static long validateLong(long val, long defaultVal, long min, long max) {
+        return (val >= min && val <= max) ? val : defaultVal;
+    }
+
+    public static int getIdxInArr(String[] arr, String check) {
+        int r = -1;
+        int l = arr.length;
+        for (int i = 0; i < l; i++) {
+            if (arr[i].equals(check)) {
+                r = i;
+                break;
+            }
+        }
+        return r;
+    }
+
+    public static String addBraces(boolean s) {
+        return addBraces(s + "");
+    }
+
+    public static String addBraces(long s) {
+        return addBraces(s + "");
+    }
+
+    public static String addBraces(String s) {
+        return "[" + s + "]";
+    }
+
+    public static String changeCase(CaseType type, String str) {
+        switch (type) {
+            case LOWER:
+                return str.toLowerCase();
+            case UPPER:
+                return str.toUpperCase();
+            case TITLE:
+                return convertToTitleCase(str);
+            case INVERT:
+                return invertCase(str);
+        }
+        return str;
+    }
+
+    public static String invertCase(String str) {
+        char[] arr = str.toCharArray();
+
+        StringBuilder ans = new StringBuilder();
+        for (char c : arr) {
+            if (isAlphabet(c)) {
+                ans.append(isUpper(c) ? Character.toString(c).toLowerCase() : Character.toString(c).toUpperCase());
+            } else {
+                ans.append(c);
+            }
+        }
+        return ans.toString();
+    }
+
+    public static String formatForFilename(String data) {
+        for (Utils.FilenameReplacer f : Utils.FilenameReplacer.values()) {
+            if (data.contains(f.ch)) {
+                data = data.replaceAll(f.ch, f.rep);
+            }
+        }
+        return data;
+    }
+
+    public static String getUnicodeStr(String codeAsStr) {
+        return getUnicodeStr(convertToInt(codeAsStr));
+    }
+
+    public static String getUnicodeStr(int code) {
+        return new String(Character.toChars(code));
+    }
+
+    public static String convertToTitleCase(String str) {
+        String[] titleCaseChars = new String[]{"_", " ", "-"};
+        for (String ch : titleCaseChars) {
+            String[] arr = str.split(ch);
+            StringBuilder ans = new StringBuilder();
+            if (arr.length == 1) {
+                str = arr[0];
+                if (hasValue(str)) {
+                    str = Character.toUpperCase(str.charAt(0)) + str.substring(1);
+                }
+            } else {
+                for (String a : arr) {
+                    if (hasValue(a)) {
+                        ans.append(Character.toUpperCase(a.charAt(0))).append(a.substring(1));
+                    }
+                    ans.append(ch);
+                }
+                str = ans.toString();
+            }
+        }
+        return str;
+    }
+}
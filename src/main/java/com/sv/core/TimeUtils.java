@@ -0,0 +1,236 @@
+package com.sv.core;
+
+import com.sv.core.logger.MyLogger;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.sv.core.Constants.*;
+
+/**
+ * Sleep, time difference and date formatting helpers.  Formatters
+ * are created on first use of this class.
+ */
+public final class TimeUtils {
+
+    private TimeUtils() {
+    }
+
+    // Formatters are created once and cache text of last second
+    private static final CachedTimeFormat DATE_TIME_FORMAT = new CachedTimeFormat("dd-MMM-yyyy h:mm:ssa");
+    private static final CachedTimeFormat DATE_FORMAT = new CachedTimeFormat("dd-MMM-yyyy");
+    private static final CachedTimeFormat TIME_AMPM_FORMAT = new CachedTimeFormat("h:mma");
+    private static final CachedTimeFormat TIME_AMPM_SEC_FORMAT = new CachedTimeFormat("h:mma:ssa");
+    private static final CachedTimeFormat TIME_FORMAT = new CachedTimeFormat("H:mm");
+    private static final CachedTimeFormat TIME_SEC_FORMAT = new CachedTimeFormat("H:mm:ss");
+
+    public static void sleep1Sec() {
+        sleep(TimeUnit.SECONDS.toMillis(ONE));
+    }
+
+    public static void sleep500Milli() {
+        sleep(500);
+    }
+
+    public static void sleep100Milli() {
+        sleep(100);
+    }
+
+    /**
+     * Sleep that handles exception.  If interrupted it returns early
+     * with interrupt flag set again, so polling loops can check
+     * `Thread.currentThread().isInterrupted()` to stop.  To wait
+     * without holding a thread use {@link Scheduler#delay(long, TimeUnit)}.
+     *
+     * @param millis milli seconds
+     */
+    public static void sleep(long millis) {
+        sleep(millis, null);
+    }
+
+    /**
+     * Same as {@link #sleep(long)} and logs interruption
+     *
+     * @param millis milli seconds
+     * @param logger to log
+     */
+    public static void sleep(long millis, MyLogger logger) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (logger != null) {
+                logger.warn("Sleep interrupted");
+            }
+        }
+    }
+
+    /**
+     * Returns in format MM:SS
+     *
+     * @param sec seconds
+     * @return Formatted string
+     */
+    public static String formatTime(long sec) {
+        long min = TimeUnit.SECONDS.toMinutes(sec);
+        long rsec = sec - TimeUnit.MINUTES.toSeconds(min);
+        String s = min + COLON;
+        return (rsec < 10) ? s + "0" + rsec : s + rsec;
+    }
+
+    /**
+     * Returns in format MM min SS sec
+     * Formatted string will not include min if MM is 0
+     *
+     * @param sec seconds
+     * @return Formatted string
+     */
+    public static String formatTimeWithUnits(long sec) {
+        long min = TimeUnit.SECONDS.toMinutes(sec);
+        long rsec = sec - TimeUnit.MINUTES.toSeconds(min);
+        String s = min > 0 ? min + "min " : "";
+        return ((rsec < 10) ? s + "0" + rsec : s + rsec) + "sec";
+    }
+
+    public static String formatTimeHMS(long sec) {
+        long h = 0, m = 0, rsec = sec;
+        if (sec > 60) {
+            m = TimeUnit.SECONDS.toMinutes(sec);
+            if (m > 60) {
+                h = TimeUnit.SECONDS.toHours(sec);
+                m = m - TimeUnit.HOURS.toMinutes(h);
+                sec = sec - TimeUnit.HOURS.toSeconds(h);
+                rsec = sec - TimeUnit.MINUTES.toSeconds(m);
+            } else {
+                rsec = sec - TimeUnit.MINUTES.toSeconds(m);
+            }
+        }
+        String tm = h > 0 ? h + "h:" : "";
+        tm += m > 0 ? (m >= 10 ? m : "0" + m) + "m:" : "";
+        tm += rsec > 0 ? (rsec >= 10 ? rsec : "0" + rsec) + "s" : "";
+        return tm;
+    }
+
+    /**
+     * Calculate time difference up to seconds and
+     * return string in format like "[2 sec]"
+     *
+     * @param time as long
+     * @return string as in example
+     */
+    public static String getTimeDiffSecStr(long time) {
+        return "[" + getTimeDiffSec(time) + " sec]";
+    }
+
+    /**
+     * Calculate time difference up to milliseconds and
+     * return string in format like "[2.345 sec]"
+     *
+     * @param time as long
+     * @return string as in example
+     */
+    public static String getTimeDiffSecMilliStr(long time) {
+        return getTimeDiffSecMilliStr(time, true);
+    }
+
+    /**
+     * Calculate time difference up to milliseconds and
+     * return string in format like "[2.345 sec]" or "2.345 sec"
+     *
+     * @param time      as long
+     * @param addBraces if to add long braces
+     * @return string as in example
+     */
+    public static String getTimeDiffSecMilliStr(long time, boolean addBraces) {
+        StringBuilder sb = new StringBuilder(16);
+        if (addBraces) {
+            sb.append('[');
+        }
+        FormatUtils.appendSecMilli(sb, getTimeDiff(time)).append(" sec");
+        if (addBraces) {
+            sb.append(']');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Return current milliseconds as long
+     *
+     * @return long
+     */
+    public static long getNowMillis() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * Calculate time difference up to minutes
+     *
+     * @param millis as long
+     * @return diff in min
+     */
+    public static long getTimeDiffMin(long millis) {
+        return TimeUnit.MILLISECONDS.toMinutes(getTimeDiff(millis));
+    }
+
+    public static long getTimeDiffSec(long millis) {
+        return TimeUnit.MILLISECONDS.toSeconds(getTimeDiff(millis));
+    }
+
+    public static String getTimeDiffSecMilli(long millis) {
+        return FormatUtils.appendSecMilli(new StringBuilder(8), getTimeDiff(millis)).toString();
+    }
+
+    /**
+     * Wall clock difference from millis till now.  For timing
+     * operations prefer {@link com.sv.core.metrics.Stopwatch}
+     * which is monotonic.
+     *
+     * @param millis as long
+     * @return diff in milli seconds
+     */
+    public static long getTimeDiff(long millis) {
+        return getNowMillis() - millis;
+    }
+
+    /**
+     * Returns local date time in format <pre>dd-MMM-yyyy h:mm:ssa</pre>
+     *
+     * @return date time
+     */
+    public static String getFormattedDate() {
+        return DATE_TIME_FORMAT.formatNow();
+    }
+
+    public static String getFormattedDate(long dt) {
+        return DATE_TIME_FORMAT.format(dt);
+    }
+
+    public static String getDateDDMMMYYYY() {
+        return DATE_FORMAT.formatNow();
+    }
+
+    public static String getTime(boolean addSec, boolean ampm) {
+        CachedTimeFormat format;
+        if (ampm) {
+            format = addSec ? TIME_AMPM_SEC_FORMAT : TIME_AMPM_FORMAT;
+        } else {
+            format = addSec ? TIME_SEC_FORMAT : TIME_FORMAT;
+        }
+        return format.formatNow();
+    }
+
+    public static String getTimeNoSec() {
+        return getTime(false, true);
+    }
+
+    public static String getTimeGlobal() {
+        return getTime(true, false);
+    }
+
+    // time in MM:SS format
+    public static String getTimeMS(long ms) {
+        long min = TimeUnit.MILLISECONDS.toMinutes(ms);
+        ms -= TimeUnit.MINUTES.toMillis(min);
+        long sec = TimeUnit.MILLISECONDS.toSeconds(ms);
+        return min + Constants.COLON + (sec > 9 ? sec : "0" + sec);
+    }
+}
@@ -1,67 +1,34 @@
 package com.sv.core;
 
 import com.sv.core.exception.AppException;
+import com.sv.core.io.LineHandler;
 import com.sv.core.logger.MyLogger;
 
-import javax.imageio.ImageIO;
-import java.awt.*;
 import java.awt.event.KeyEvent;
-import java.awt.image.BufferedImage;
-import java.io.*;
+import java.io.File;
+import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
-import java.net.InetAddress;
-import java.net.UnknownHostException;
-import java.nio.file.*;
-import java.text.NumberFormat;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
+import java.nio.charset.Charset;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
 import java.time.temporal.ValueRange;
-import java.util.*;
+import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.Properties;
 
-import static com.sv.core.Constants.*;
+import static com.sv.core.Constants.CaseType;
 
 /**
  * Utility static methods and constants.
+ * <p>
+ * Most helpers live in {@link StringUtils}, {@link FileUtils},
+ * {@link ProcessUtils}, {@link TimeUtils} and {@link DesktopUtils},
+ * methods here delegate to them.  Only {@link DesktopUtils} loads AWT
+ * and only {@link TimeUtils} creates date formatters, so calling a
+ * string helper loads neither.
  */
 public class Utils {
 
-    /**
-     * Escape html characters from `HtmlEsc` enum
-     *
-     * @param data string to escape
-     * @return escaped string
-     */
-    public static String escape(String data) {
-        for (HtmlEsc h : HtmlEsc.values()) {
-            if (data.contains(h.getCh())) {
-                data = data.replaceAll(h.getCh(), h.getEscStr());
-            }
-        }
-        return data;
-    }
-
-    /**
-     * Opposite of escaping
-     *
-     * @param data string to unescape
-     * @return unescaped string
-     */
-    public static String unescape(String data) {
-        for (HtmlEsc h : HtmlEsc.values()) {
-            if (data.contains(h.getCh())) {
-                data = data.replaceAll(h.getEscStr(), h.getCh());
-            }
-        }
-        return data;
-    }
-
     public enum WinDirection {
         left(KeyEvent.VK_LEFT),
         right(KeyEvent.VK_RIGHT),
@@ -111,1047 +78,538 @@ public class Utils {
     }
 
     /**
-     * Return true if param has non-null value
-     *
-     * @param item string to be checked
-     * @return boolean status of operation
-     */
-    public static boolean hasValue(String item) {
-        return ((item != null) && (item.length() > 0));
-    }
-
-    /**
-     * Return true if param "null"
+     * Returns enum names as String array
      *
-     * @param item string to be checked
-     * @return boolean status of operation
+     * @param e Enum class
+     * @return array
      */
-    public static boolean isNullStr(String item) {
-        return item != null && item.equalsIgnoreCase(NULL_STR);
+    public static String[] getConfigsAsArr(Class<? extends Enum<?>> e) {
+        return Arrays.stream(e.getEnumConstants()).map(Enum::name).toArray(String[]::new);
     }
 
-    public static Path createPath(String path) {
-        return FileSystems.getDefault().getPath(path);
+    public static void main(String[] args) {
+        long t = System.currentTimeMillis();
+        sleep(2345);
+        System.out.println(getTimeDiffSecMilliStr(t));
     }
 
-    /**
-     * Check if val param is present in array.  Search is not case-sensitive
-     *
-     * @param arr String array
-     * @param val string to search
-     * @return boolean
-     */
-    public static boolean isInArray(String[] arr, String val) {
-        String finalVal = val.trim();
-        return Arrays.stream(arr).anyMatch(a -> a.equalsIgnoreCase(finalVal));
+    public static int getValueFromRange(int min, int max, int def, int valToCheck) {
+        ValueRange range = ValueRange.of(min, max);
+        if (!range.isValidIntValue(valToCheck)) {
+            valToCheck = def;
+        }
+        return valToCheck;
     }
 
-    public static boolean isInArrayMatchStart(String[] arr, String val) {
-        String finalVal = val.trim().toLowerCase();
-        return Arrays.stream(arr).anyMatch(a -> a.toLowerCase().startsWith(finalVal));
+    public static boolean isInRange(int min, int max, int valToCheck) {
+        ValueRange range = ValueRange.of(min, max);
+        return range.isValidIntValue(valToCheck);
     }
 
-    public static boolean isInArrayMatchStart(String[] arr, String val, boolean matchCase) {
-        String finalVal = val.trim();
-        if (matchCase) {
-            return Arrays.stream(arr).anyMatch(a -> a.startsWith(finalVal));
+    public static Class getClassForName(String className, MyLogger logger) {
+        Class clazz = null;
+        try {
+            clazz = Class.forName(className);
+        } catch (ClassNotFoundException e) {
+            logger.error("Unable to get class name for " + addBraces(className));
         }
-        return isInArrayMatchStart(arr, val);
+        return clazz;
     }
 
-    public static boolean isInArray(String[] arr, String val, boolean matchCase) {
-        if (matchCase) {
-            return Arrays.asList(arr).contains(val);
+    public static Object createObjFor(String className, Class[] clazzParams, Object[] params, MyLogger logger) {
+        Object obj = null;
+        try {
+            Class clazz = getClassForName(className, logger);
+            obj = clazz.getConstructor(clazzParams).newInstance(params);
+        } catch (NoSuchMethodException | IllegalAccessException | InstantiationException |
+                 InvocationTargetException e) {
+            logger.error("Unable to create instance for [" + className + "], class params are "
+                    + Arrays.deepToString(clazzParams)
+                    + ", params " + Arrays.deepToString(params) + "]");
         }
-        return isInArray(arr, val);
+        return obj;
     }
 
     /**
-     * Return the boolean equivalent of the string argument.
+     * Returns cached host name, never waits on DNS lookup.
+     * Logger is not kept, use {@link HostnameCache#setLogger(MyLogger)}
+     * for lookup failures.
      *
-     * @param value Value containing string representation of a boolean value.
-     * @return Boolean true/false depending on the value of the input.
-     * @throws Exception Thrown if input does not have a valid value.
+     * @param logger MyLogger object
+     * @return host name
+     * @see HostnameCache
      */
-    public static boolean getBoolean(String value) throws Exception {
-        if (!hasValue(value)) {
-            throw new Exception("ERROR: Can't convert a null/empty string value to a boolean.");
-        }
-
-        value = value.trim();
+    public static String getHostname(MyLogger logger) {
+        return HostnameCache.get();
+    }
 
-        for (String trueValue : trueValues) {
-            if (value.equalsIgnoreCase(trueValue))
-                return true;
+    public static Integer[] createIntArr(int from, int to) {
+        if (to >= from) {
+            Integer[] arr = new Integer[to - from + 1];
+            for (int ix = 0, i = from; i <= to; i++, ix++) {
+                arr[ix] = i;
+            }
+            return arr;
         }
+        return new Integer[0];
+    }
 
-        for (String falseValue1 : falseValues) {
-            if (value.equalsIgnoreCase(falseValue1))
-                return false;
+    public static Object callMethod(Object obj, String methodName, Object[] args, MyLogger logger) {
+        try {
+            return callMethodWithException(obj, methodName, args, logger);
+        } catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+            logger.error("Error in calling method: " + methodName + " on class "
+                    + obj.getClass().getSimpleName() + ". Details: ", e);
         }
+        return null;
+    }
 
-        //Construct error message containing list of valid values
-        StringBuilder validValues = new StringBuilder();
-
-        for (int Ix = 0; Ix < trueValues.length; Ix++) {
-            if (Ix > 0)
-                validValues.append(", ");
-
-            validValues.append(trueValues[Ix]);
-        }
+    public static Object callMethodWithException(Object obj, String methodName, Object[] args, MyLogger logger)
+            throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
 
-        for (String falseValue : falseValues) {
-            validValues.append(", ");
-            validValues.append(falseValue);
+        String argsDtl = "No arg";
+        Class<?>[] clz = new Class[0];
+        if (args != null) {
+            clz = new Class[args.length];
+            StringBuilder sb = new StringBuilder();
+            sb.append(Arrays.asList(args).toString());
+            sb.append(", Types: {");
+            int x = 0;
+            for (Object o : args) {
+                clz[x] = o.getClass();
+                sb.append(clz[x].getName()).append(", ");
+                x++;
+            }
+            sb.append("}");
+            argsDtl = sb.toString();
         }
 
-        throw new Exception("ERROR: Candidate boolean value [" + value
-                + "] not in valid-value set [" + validValues.toString() + "].");
-    }
-
-
-    /**
-     * Return the boolean equivalent of the string argument.
-     *
-     * @param value       Value containing string representation of a boolean value.
-     * @param defaultBool Default boolean to use if the value is empty
-     *                    or if it is an invalid value.
-     * @return Boolean true/false depending on the value of the input.
-     */
-    public static boolean getBoolean(String value, boolean defaultBool) {
-        if (!hasValue(value))
-            return defaultBool;
+        logger.debug("Calling method " + addBraces(methodName)
+                + " on class " + addBraces(obj.getClass().getSimpleName())
+                + " args " + argsDtl
+        );
 
-        try {
-            return getBoolean(value);
-        } catch (Exception e) {
-            return defaultBool;
+        if (args == null) {
+            return obj.getClass().getMethod(methodName).invoke(obj);
         }
+        return obj.getClass().getMethod(methodName, clz).invoke(obj, args);
     }
 
-    /**
-     * Returns true if char is numeric, else false
-     *
-     * @param ch char to check
-     * @return boolean status of operation
-     */
-    public static boolean isNumeric(char ch) {
-        int zero = '0';
-        int nine = '9';
+    // String helpers, see {@link StringUtils}
 
-        return (int) ch <= nine && (int) ch >= zero;
+    public static String escape(String data) {
+        return StringUtils.escape(data);
     }
 
-    /**
-     * Returns true if char is alphabetic, else false
-     *
-     * @param ch char to check
-     * @return boolean status of operation
-     */
-    public static boolean isAlphabet(char ch) {
-        return isUpper(ch) || isLower(ch);
+    public static String unescape(String data) {
+        return StringUtils.unescape(data);
     }
 
-    public static boolean isUpper(char ch) {
-        int A = 'A';
-        int Z = 'Z';
-
-        return (int) ch <= Z && (int) ch >= A;
+    public static boolean hasValue(String item) {
+        return StringUtils.hasValue(item);
     }
 
-    public static boolean isLower(char ch) {
-        int a = 'a';
-        int z = 'z';
-
-        return (int) ch <= z && (int) ch >= a;
+    public static boolean isNullStr(String item) {
+        return StringUtils.isNullStr(item);
     }
 
-    /**
-     * Get file name from path
-     *
-     * @param url path
-     * @return only name
-     */
-    public static String getFileName(String url) {
-        if (!hasValue(url))
-            return "";
-        if (url.contains(F_SLASH))
-            return url.substring(url.lastIndexOf(F_SLASH) + 1);
-        if (url.contains(SLASH))
-            return url.substring(url.lastIndexOf(SLASH) + 1);
-
-        return url;
+    public static boolean isInArray(String[] arr, String val) {
+        return StringUtils.isInArray(arr, val);
     }
 
-    /**
-     * Removes file name extension
-     *
-     * @param filename path
-     * @return only name
-     */
-    public static String chopFileNameExtn(String filename) {
-        if (!hasValue(filename))
-            return EMPTY;
-
-        if (filename.contains(DOT))
-            return filename.substring(0, filename.lastIndexOf(DOT));
-
-        return filename;
+    public static boolean isInArrayMatchStart(String[] arr, String val) {
+        return StringUtils.isInArrayMatchStart(arr, val);
     }
 
-    public static void sleep1Sec() {
-        sleep(TimeUnit.SECONDS.toMillis(ONE));
+    public static boolean isInArrayMatchStart(String[] arr, String val, boolean matchCase) {
+        return StringUtils.isInArrayMatchStart(arr, val, matchCase);
     }
 
-    public static void sleep500Milli() {
-        sleep(500);
+    public static boolean isInArray(String[] arr, String val, boolean matchCase) {
+        return StringUtils.isInArray(arr, val, matchCase);
     }
 
-    public static void sleep100Milli() {
-        sleep(100);
+    public static boolean isInArray(StringMatcher matcher, String val) {
+        return StringUtils.isInArray(matcher, val);
     }
 
-    /**
-     * Sleep that handles exception
-     *
-     * @param millis milli seconds
-     */
-    public static void sleep(long millis) {
-        try {
-            Thread.sleep(millis);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
+    public static boolean isInArray(StringMatcher matcher, String val, boolean matchCase) {
+        return StringUtils.isInArray(matcher, val, matchCase);
     }
 
-    /**
-     * Sleep that handles exception
-     *
-     * @param millis milli seconds
-     * @param logger to log
-     */
-    public static void sleep(long millis, MyLogger logger) {
-        try {
-            Thread.sleep(millis);
-        } catch (InterruptedException e) {
-            logger.warn(e.getMessage());
-        }
+    public static boolean isInArrayMatchStart(StringMatcher matcher, String val) {
+        return StringUtils.isInArrayMatchStart(matcher, val);
     }
 
-    public static boolean deleteFile(String path) {
-        Path p = createPath(path);
-        try {
-            return Files.deleteIfExists(p);
-        } catch (IOException e) {
-            //no action
-        }
-        return false;
+    public static boolean isInArrayMatchStart(StringMatcher matcher, String val, boolean matchCase) {
+        return StringUtils.isInArrayMatchStart(matcher, val, matchCase);
     }
 
-    public static long getFileSize(String path, long defaultValue) {
-        Path p = createPath(path);
-        if (Files.exists(p)) {
-            try {
-                return Files.size(p);
-            } catch (IOException e) {
-                // no action
-            }
-        }
-        return defaultValue;
+    public static boolean getBoolean(String value) throws Exception {
+        return StringUtils.getBoolean(value);
     }
 
-    public static long getFileSize(String path) {
-        return getFileSize(path, -1);
+    public static boolean getBoolean(String value, boolean defaultBool) {
+        return StringUtils.getBoolean(value, defaultBool);
     }
 
-    public static String getFileSizeString(String path) {
-        long sz;
-        try {
-            sz = Files.size(createPath(path));
-        } catch (IOException e) {
-            sz = 0;
-        }
-        return getSizeString(sz, true, true, 2);
+    public static boolean isNumeric(char ch) {
+        return StringUtils.isNumeric(ch);
     }
 
-    public static String getSizeString(long sz) {
-        return getSizeString(sz, true, true, 2);
+    public static boolean isAlphabet(char ch) {
+        return StringUtils.isAlphabet(ch);
     }
 
-    public static String formatNumber(double n) {
-        return NumberFormat.getNumberInstance().format(n);
+    public static boolean isUpper(char ch) {
+        return StringUtils.isUpper(ch);
     }
 
-    /**
-     * Returns in format MM:SS
-     *
-     * @param sec seconds
-     * @return Formatted string
-     */
-    public static String formatTime(long sec) {
-        long min = TimeUnit.SECONDS.toMinutes(sec);
-        long rsec = sec - TimeUnit.MINUTES.toSeconds(min);
-        String s = min + COLON;
-        return (rsec < 10) ? s + "0" + rsec : s + rsec;
+    public static boolean isLower(char ch) {
+        return StringUtils.isLower(ch);
     }
 
-    /**
-     * Returns in format MM min SS sec
-     * Formatted string will not include min if MM is 0
-     *
-     * @param sec seconds
-     * @return Formatted string
-     */
-    public static String formatTimeWithUnits(long sec) {
-        long min = TimeUnit.SECONDS.toMinutes(sec);
-        long rsec = sec - TimeUnit.MINUTES.toSeconds(min);
-        String s = min > 0 ? min + "min " : "";
-        return ((rsec < 10) ? s + "0" + rsec : s + rsec) + "sec";
+    public static String getSizeString(long sz) {
+        return StringUtils.getSizeString(sz);
     }
 
-    public static String formatTimeHMS(long sec) {
-        long h = 0, m = 0, rsec = sec;
-        if (sec > 60) {
-            m = TimeUnit.SECONDS.toMinutes(sec);
-            if (m > 60) {
-                h = TimeUnit.SECONDS.toHours(sec);
-                m = m - TimeUnit.HOURS.toMinutes(h);
-                sec = sec - TimeUnit.HOURS.toSeconds(h);
-                rsec = sec - TimeUnit.MINUTES.toSeconds(m);
-            } else {
-                rsec = sec - TimeUnit.MINUTES.toSeconds(m);
-            }
-        }
-        String tm = h > 0 ? h + "h:" : "";
-        tm += m > 0 ? (m >= 10 ? m : "0" + m) + "m:" : "";
-        tm += rsec > 0 ? (rsec >= 10 ? rsec : "0" + rsec) + "s" : "";
-        return tm;
+    public static String formatNumber(double n) {
+        return StringUtils.formatNumber(n);
     }
 
-    /**
-     * Returns string for a size that could
-     * be in GB or MB or KB or in bytes.
-     *
-     * @param sz             size in bytes
-     * @param addBraces      - if need [ ] around result
-     * @param addBSuffix     - if B added like MB or just M
-     * @param digitsAfterDot - How many digits after dot
-     * @return size notation e.g. 1024 becomes 1KB
-     */
     public static String getSizeString(long sz, boolean addBraces, boolean addBSuffix, int digitsAfterDot) {
-        float inKB = (float) sz / KB;
-        float inMB = inKB / KB;
-        float inGB = inMB / KB;
-        String pre = "%s", suf = "B";
-        if (digitsAfterDot < 0) {
-            digitsAfterDot = 0;
-        }
-        if (!addBSuffix) {
-            suf = "";
-        }
-        if (addBraces) {
-            pre = "[" + pre;
-            suf += "]";
-        }
-        if (inGB > 1) {
-            return String.format(pre + "G" + suf, formatFloat(inGB, digitsAfterDot));
-        } else if (inMB > 1) {
-            return String.format(pre + "M" + suf, formatFloat(inMB, digitsAfterDot));
-        } else if (inKB > 1) {
-            return String.format(pre + "K" + suf, formatFloat(inKB, digitsAfterDot));
-        }
-        return String.format(pre + suf, sz);
-    }
-
-    private static String formatFloat(float size) {
-        return formatFloat(size, 2);
+        return StringUtils.getSizeString(sz, addBraces, addBSuffix, digitsAfterDot);
     }
 
-    private static String formatFloat(float size, int digitsAfterDot) {
-        return String.format("%." + digitsAfterDot + "f", size);
+    public static String getMatchedLCSubStr(String s, String[] arr) {
+        return StringUtils.getMatchedLCSubStr(s, arr);
     }
 
-    /**
-     * Returns enum names as String array
-     *
-     * @param e Enum class
-     * @return array
-     */
-    public static String[] getConfigsAsArr(Class<? extends Enum<?>> e) {
-        return Arrays.stream(e.getEnumConstants()).map(Enum::name).toArray(String[]::new);
-    }
-
-    /**
-     * This method matches; in lowercase; given string from array of strings.
-     * If there is a match then returns the remaining sub string.
-     *
-     * @param s   to search
-     * @param arr of String
-     * @return sub string
-     */
-    public static String getMatchedLCSubStr(String s, String[] arr) {
-        String lc = s.toLowerCase();
-        return Arrays.stream(arr)
-                .filter(a -> a.toLowerCase().startsWith(lc))
-                .findFirst()
-                .map(a -> a.substring(s.length()))
-                .orElse("");
+    public static String getMatchedLCSubStr(String s, StringMatcher matcher) {
+        return StringUtils.getMatchedLCSubStr(s, matcher);
     }
 
     public static boolean isSpecialChar(char ch) {
-        return isInCharArr(SPECIAL_CHARS, ch);
+        return StringUtils.isSpecialChar(ch);
     }
 
     public static boolean isWholeWordChar(char ch) {
-        return !isAlphabet(ch) && !isNumeric(ch);
+        return StringUtils.isWholeWordChar(ch);
     }
 
     public static boolean isInCharArr(Character[] arr, char ch) {
-        return Arrays.stream(arr).anyMatch(a -> a == ch);
+        return StringUtils.isInCharArr(arr, ch);
     }
 
     public static String filterFromCharArr(Character[] allowed, String toCheck) {
-        return toCheck.chars()
-                .filter(c -> isInCharArr(allowed, (char) c))
-                .mapToObj(c -> "" + (char) c)
-                .collect(Collectors.joining());
+        return StringUtils.filterFromCharArr(allowed, toCheck);
+    }
+
+    public static String filterFromCharArr(CharClass allowed, String toCheck) {
+        return StringUtils.filterFromCharArr(allowed, toCheck);
     }
 
     public static String filterNumbers(String toCheck) {
-        return filterFromCharArr(NUM_ARR, toCheck);
+        return StringUtils.filterNumbers(toCheck);
     }
 
     public static int convertToInt(String s, int defaultVal) {
-        try {
-            return Integer.parseInt(s);
-        } catch (NumberFormatException e) {
-            // no action
-        }
-        return defaultVal;
+        return StringUtils.convertToInt(s, defaultVal);
     }
 
-    /**
-     * This method will return 0 in case of exception
-     *
-     * @param s int as string
-     * @return int
-     */
     public static int convertToInt(String s) {
-        return convertToInt(s, 0);
+        return StringUtils.convertToInt(s);
     }
 
     public static int convertToInt(String s, int defaultVal, int min, int max) {
-        int val = convertToInt(s, defaultVal);
-        return (val >= min && val <= max) ? val : defaultVal;
+        return StringUtils.convertToInt(s, defaultVal, min, max);
     }
 
     public static int validateInt(int val, int defaultVal, int min, int max) {
-        return (val >= min && val <= max) ? val : defaultVal;
+        return StringUtils.validateInt(val, defaultVal, min, max);
     }
 
     public static long convertToLong(String s) {
-        return convertToLong(s, 0);
+        return StringUtils.convertToLong(s);
     }
 
     public static long convertToLong(String s, long defaultVal) {
-        try {
-            return Long.parseLong(s);
-        } catch (NumberFormatException e) {
-            // no action
-        }
-        return defaultVal;
+        return StringUtils.convertToLong(s, defaultVal);
     }
 
     public static long convertToLong(String s, long defaultVal, long min, long max) {
-        long val = convertToLong(s, defaultVal);
-        return (val >= min && val <= max) ? val : defaultVal;
+        return StringUtils.convertToLong(s, defaultVal, min, max);
     }
 
     public static long validateLong(long val, long defaultVal, long min, long max) {
-        return (val >= min && val <= max) ? val : defaultVal;
-    }
-
-    public static void main(String[] args) {
-        long t = System.currentTimeMillis();
-        sleep(2345);
-        System.out.println(getTimeDiffSecMilliStr(t));
+        return StringUtils.validateLong(val, defaultVal, min, max);
     }
 
     public static int getIdxInArr(String[] arr, String check) {
-        int r = -1;
-        int l = arr.length;
-        for (int i = 0; i < l; i++) {
-            if (arr[i].equals(check)) {
-                r = i;
-                break;
-            }
-        }
-        return r;
+        return StringUtils.getIdxInArr(arr, check);
     }
 
-    public static int getValueFromRange(int min, int max, int def, int valToCheck) {
-        ValueRange range = ValueRange.of(min, max);
-        if (!range.isValidIntValue(valToCheck)) {
-            valToCheck = def;
-        }
-        return valToCheck;
+    public static String addBraces(boolean s) {
+        return StringUtils.addBraces(s);
     }
 
-    public static boolean isInRange(int min, int max, int valToCheck) {
-        ValueRange range = ValueRange.of(min, max);
-        return range.isValidIntValue(valToCheck);
+    public static String addBraces(long s) {
+        return StringUtils.addBraces(s);
     }
 
-    public static Class getClassForName(String className, MyLogger logger) {
-        Class clazz = null;
-        try {
-            clazz = Class.forName(className);
-        } catch (ClassNotFoundException e) {
-            logger.error("Unable to get class name for " + addBraces(className));
-        }
-        return clazz;
+    public static String addBraces(String s) {
+        return StringUtils.addBraces(s);
     }
 
-    public static Object createObjFor(String className, Class[] clazzParams, Object[] params, MyLogger logger) {
-        Object obj = null;
-        try {
-            Class clazz = getClassForName(className, logger);
-            obj = clazz.getConstructor(clazzParams).newInstance(params);
-        } catch (NoSuchMethodException | IllegalAccessException | InstantiationException |
-                 InvocationTargetException e) {
-            logger.error("Unable to create instance for [" + className + "], class params are "
-                    + Arrays.deepToString(clazzParams)
-                    + ", params " + Arrays.deepToString(params) + "]");
-        }
-        return obj;
+    public static String changeCase(CaseType type, String str) {
+        return StringUtils.changeCase(type, str);
     }
 
-    /**
-     * Calculate time difference up to seconds and
-     * return string in format like "[2 sec]"
-     *
-     * @param time as long
-     * @return string as in example
-     */
-    public static String getTimeDiffSecStr(long time) {
-        return "[" + getTimeDiffSec(time) + " sec]";
+    public static String invertCase(String str) {
+        return StringUtils.invertCase(str);
     }
 
-    /**
-     * Calculate time difference up to milliseconds and
-     * return string in format like "[2.345 sec]"
-     *
-     * @param time as long
-     * @return string as in example
-     */
-    public static String getTimeDiffSecMilliStr(long time) {
-        return getTimeDiffSecMilliStr(time, true);
+    public static String formatForFilename(String data) {
+        return StringUtils.formatForFilename(data);
     }
 
-    /**
-     * Calculate time difference up to milliseconds and
-     * return string in format like "[2.345 sec]" or "2.345 sec"
-     *
-     * @param time      as long
-     * @param addBraces if to add long braces
-     * @return string as in example
-     */
-    public static String getTimeDiffSecMilliStr(long time, boolean addBraces) {
-        return (addBraces ? "[" : "") +
-                getTimeDiffSecMilli(time) + " sec" +
-                (addBraces ? "]" : "");
+    public static String getUnicodeStr(String codeAsStr) {
+        return StringUtils.getUnicodeStr(codeAsStr);
     }
 
-    /**
-     * Return current milliseconds as long
-     *
-     * @return long
-     */
-    public static long getNowMillis() {
-        return System.currentTimeMillis();
+    public static String getUnicodeStr(int code) {
+        return StringUtils.getUnicodeStr(code);
     }
 
-    /**
-     * Calculate time difference up to minutes
-     *
-     * @param millis as long
-     * @return diff in min
-     */
-    public static long getTimeDiffMin(long millis) {
-        return TimeUnit.MILLISECONDS.toMinutes(getTimeDiff(millis));
+    public static String convertToTitleCase(String str) {
+        return StringUtils.convertToTitleCase(str);
     }
 
-    /**
-     * This method will execute command passed
-     *
-     * @param cmd command to run
-     * @return exception message in case of error else empty string
-     */
-    public static String runCmd(String cmd) {
-        return runCmd(cmd, null);
-    }
+    // File helpers, see {@link FileUtils}
 
-    /**
-     * This method will execute command passed
-     *
-     * @param cmd    command to run
-     * @param logger MyLogger object to print error details
-     * @return exception message in case of error else empty string
-     */
-    public static String runCmd(String cmd, MyLogger logger) {
-        try {
-            Process process = runProcess(cmd, logger);
-            /*if (logger != null) {
-                logger.info("Output " + getProcessOutput(process, logger));
-            }*/
-        } catch (AppException e) {
-            return e.getMessage();
-        }
-        return EMPTY;
+    public static Path createPath(String path) {
+        return FileUtils.createPath(path);
     }
 
-    public static void logProcessOutput(Process process, MyLogger logger) {
-        String data = getProcessOutput(process, logger);
-        if (logger != null) {
-            if (Utils.hasValue(data)) {
-                logger.info(data);
-            } else {
-                logger.info("No process output");
-            }
-        }
+    public static String getFileName(String url) {
+        return FileUtils.getFileName(url);
     }
 
-    public static String getProcessOutput(Process process, MyLogger logger) {
-
-        String data = getStreamOutput(process.getInputStream(), logger);
-        if (!Utils.hasValue(data)) {
-            logger.warn("No data from process. Checking error stream.");
-            data = getStreamOutput(process.getErrorStream(), logger);
-        }
-
-        return data;
+    public static String chopFileNameExtn(String filename) {
+        return FileUtils.chopFileNameExtn(filename);
     }
 
-    public static String getStreamOutput(InputStream stream, MyLogger logger) {
-        try (BufferedReader reader = new BufferedReader(new
-                InputStreamReader(stream))) {
-
-            String line;
-            StringBuilder sb = new StringBuilder();
-            do {
-                line = reader.readLine();
-                if (Utils.hasValue(line)) {
-                    sb.append(line);
-                }
-            } while (line != null);
-
-            return sb.toString();
-        } catch (IOException e) {
-            logger.error(e);
-        }
-
-        return EMPTY;
+    public static boolean deleteFile(String path) {
+        return FileUtils.deleteFile(path);
     }
 
-    public static Process runProcess(String cmd) throws AppException {
-        return runProcess(cmd, null);
+    public static boolean copyFile(String src, String dest, MyLogger logger) {
+        return FileUtils.copyFile(src, dest, logger);
     }
 
-    public static Process runProcess(String cmd, MyLogger logger) throws AppException {
-        return runProcess(new String[]{cmd}, logger);
+    public static long getFileSize(String path, long defaultValue) {
+        return FileUtils.getFileSize(path, defaultValue);
     }
 
-    public static Process runProcess(String[] cmds, MyLogger logger) throws AppException {
-        cmds = checkAllArgs(cmds);
-        if (logger != null) {
-            logger.info("Running command " + Arrays.asList(cmds));
-        }
-        try {
-            return Runtime.getRuntime().exec(cmds);
-        } catch (IOException e) {
-            if (logger != null) {
-                logger.error(e);
-            }
-            throw new AppException(e.getMessage());
-        }
+    public static long getFileSize(String path) {
+        return FileUtils.getFileSize(path);
     }
 
-    private static String[] checkAllArgs(String[] cmds) {
-        List<String> cmdList = new ArrayList<>();
-        for (String cmd : cmds) {
-            if (cmd.contains(SPACE)) {
-                cmdList.addAll(Arrays.asList(cmd.split(SPACE)));
-            } else {
-                cmdList.add(cmd);
-            }
-        }
-        return cmdList.toArray(new String[0]);
+    public static String getFileSizeString(String path) {
+        return FileUtils.getFileSizeString(path);
     }
 
     public static void saveProperties(Properties prop, String filePath, MyLogger logger) {
-        logger.info("Saving properties at " + addBraces(filePath));
-        try {
-            prop.store(new FileOutputStream(filePath), null);
-        } catch (IOException e) {
-            logger.info("Error in saving properties.");
-        }
+        FileUtils.saveProperties(prop, filePath, logger);
     }
 
-    /**
-     * Returns absolute paths of files inside folder
-     *
-     * @param dir    directory path
-     * @param logger Obj
-     * @return list
-     */
     public static List<String> listFiles(String dir, MyLogger logger) {
-        List<String> list = new ArrayList<>();
-        try {
-            Stream<Path> paths = Files.list(Utils.createPath(dir));
-            paths.forEach(p -> {
-                if (p.toFile().isFile()) {
-                    list.add(p.toAbsolutePath().toString());
-                }
-            });
-        } catch (IOException e) {
-            if (logger != null) {
-                logger.error("Unable to load files from " + Utils.addBraces(dir));
-            }
-        }
-        return list;
+        return FileUtils.listFiles(dir, logger);
     }
 
     public static List<String> readFile(String path, MyLogger logger) {
-        try {
-            return Files.readAllLines(createPath(path));
-        } catch (IOException e) {
-            if (logger != null) {
-                logger.error(e.getMessage(), e);
-            }
-        }
-        return new ArrayList<>();
+        return FileUtils.readFile(path, logger);
     }
 
     public static boolean writeFile(String path, String data, MyLogger logger) {
-        return writeFile(path, data, logger, new StandardOpenOption[]
-                {StandardOpenOption.CREATE, StandardOpenOption.WRITE});
+        return FileUtils.writeFile(path, data, logger);
     }
 
     public static boolean writeFile(String path, List<String> lines, MyLogger logger) {
-        StringBuilder sb = new StringBuilder();
-        lines.forEach(l -> sb.append(l).append(System.lineSeparator()));
-        return writeFile(path, sb.toString(), logger);
+        return FileUtils.writeFile(path, lines, logger);
+    }
+
+    public static boolean writeFile(String path, Iterable<? extends CharSequence> lines, Charset charset, MyLogger logger) {
+        return FileUtils.writeFile(path, lines, charset, logger);
     }
 
     public static boolean writeFile(String path, String data, MyLogger logger, OpenOption... options) {
-        boolean result = true;
-        try {
-            Path p = Files.write(createPath(path), data.getBytes(), options);
-            if (logger != null) {
-                logger.info("File successfully written at " + addBraces(p.toString()));
-            }
-        } catch (IOException e) {
-            if (logger != null) {
-                logger.error(e.getMessage(), e);
-            } else {
-                e.printStackTrace();
-            }
-            result = false;
-        }
-        return result;
+        return FileUtils.writeFile(path, data, logger, options);
     }
 
     public static Properties readPropertyFile(String path, MyLogger logger) {
-        try {
-            Properties prop = new Properties();
-            prop.load(new FileInputStream(path));
-            return prop;
-        } catch (IOException e) {
-            if (logger != null) {
-                logger.error(e.getMessage(), e);
-            }
-        }
-        return new Properties();
+        return FileUtils.readPropertyFile(path, logger);
     }
 
-    public static long getTimeDiffSec(long millis) {
-        return TimeUnit.MILLISECONDS.toSeconds(getTimeDiff(millis));
+    public static File getCurrentDirFile() {
+        return FileUtils.getCurrentDirFile();
     }
 
-    public static String getTimeDiffSecMilli(long millis) {
-        long diff = getTimeDiff(millis);
-        long sec = TimeUnit.MILLISECONDS.toSeconds(diff);
-        long remain = diff - TimeUnit.SECONDS.toMillis(sec);
-        return String.format("%.3f", Double.parseDouble(sec + DOT + remain));
+    public static String getCurrentDir() {
+        return FileUtils.getCurrentDir();
     }
 
-    public static long getTimeDiff(long millis) {
-        return getNowMillis() - millis;
+    public static String removeDotFromEndOfPath(String ps) {
+        return FileUtils.removeDotFromEndOfPath(ps);
     }
 
-    /**
-     * Returns local date time in format <pre>dd-MMM-yyyy h:mm:ssa</pre>
-     *
-     * @return date time
-     */
-    public static String getFormattedDate() {
-        LocalDateTime date = LocalDateTime.now();
-        return getFormattedDate(
-                Date.from(date.atZone(ZoneId.systemDefault()).toInstant()).getTime()
-        );
+    public static Path getCurrentDirPath() {
+        return FileUtils.getCurrentDirPath();
     }
 
-    public static String getFormattedDate(long dt) {
-        Date date = new Date(dt);
-        return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault())
-                .format(DateTimeFormatter.ofPattern("dd-MMM-yyyy h:mm:ssa"));
+    // Process helpers, see {@link ProcessUtils}
+
+    public static String runCmd(String cmd) {
+        return ProcessUtils.runCmd(cmd);
     }
 
-    public static String getDateDDMMMYYYY() {
-        return LocalDate.now(ZoneId.systemDefault()).format(DateTimeFormatter.ofPattern("dd-MMM-yyyy"));
+    public static String runCmd(String cmd, MyLogger logger) {
+        return ProcessUtils.runCmd(cmd, logger);
     }
 
-    public static String getHostname(MyLogger logger) {
-        String env;
-        try {
-            return InetAddress.getLocalHost().getHostName();
-        } catch (UnknownHostException e) {
-            env = "";
-            logger.warn("Unable to get host name, trying environment variable");
-        }
+    public static void logProcessOutput(Process process, MyLogger logger) {
+        ProcessUtils.logProcessOutput(process, logger);
+    }
 
-        if (!hasValue(env)) {
-            Map<String, String> envs = System.getenv();
-            if (envs.containsKey("COMPUTERNAME")) {
-                return envs.get("COMPUTERNAME");
-            } else if (envs.containsKey("HOSTNAME")) {
-                return envs.get("HOSTNAME");
-            }
+    public static String getProcessOutput(Process process, MyLogger logger) {
+        return ProcessUtils.getProcessOutput(process, logger);
+    }
 
-            if (!hasValue(env)) {
-                logger.warn("Unable to get host name from environment");
-                env = "Unknown";
-            }
-        }
+    public static String getStreamOutput(InputStream stream, MyLogger logger) {
+        return ProcessUtils.getStreamOutput(stream, logger);
+    }
 
-        return env;
+    public static List<String> getStreamOutput(InputStream stream, int maxLines, MyLogger logger) {
+        return ProcessUtils.getStreamOutput(stream, maxLines, logger);
     }
 
-    public static File getCurrentDirFile() {
-        return getCurrentDirPath().toFile();
+    public static long readStreamLines(InputStream stream, LineHandler<CharSequence> handler, MyLogger logger) {
+        return ProcessUtils.readStreamLines(stream, handler, logger);
     }
 
-    public static Integer[] createIntArr(int from, int to) {
-        if (to >= from) {
-            Integer[] arr = new Integer[to - from + 1];
-            for (int ix = 0, i = from; i <= to; i++, ix++) {
-                arr[ix] = i;
-            }
-            return arr;
-        }
-        return new Integer[0];
+    public static Process runProcess(String cmd) throws AppException {
+        return ProcessUtils.runProcess(cmd);
     }
 
-    public static String getCurrentDir() {
-        String ps = getCurrentDirPath().toString();
-        if (ps.contains(F_SLASH) && !ps.endsWith(F_SLASH)) {
-            ps = ps + F_SLASH;
-        } else if (ps.contains(SLASH) && !ps.endsWith(SLASH)) {
-            ps = ps + SLASH;
-        }
-        return ps;
+    public static Process runProcess(String cmd, MyLogger logger) throws AppException {
+        return ProcessUtils.runProcess(cmd, logger);
     }
 
-    public static String removeDotFromEndOfPath(String ps) {
-        if (ps.endsWith(DOT)) {
-            ps = ps.substring(0, ps.length() - DOT.length());
-        }
-        return ps;
+    public static Process runProcess(String[] cmds, MyLogger logger) throws AppException {
+        return ProcessUtils.runProcess(cmds, logger);
     }
 
-    public static Path getCurrentDirPath() {
-        return FileSystems.getDefault().getPath("").toAbsolutePath();
+    // Time helpers, see {@link TimeUtils}
+
+    public static void sleep1Sec() {
+        TimeUtils.sleep1Sec();
     }
 
-    public static String getTime(boolean addSec, boolean ampm) {
-        LocalTime time = LocalTime.now();
-        String format = ampm ? "h:mma" : "H:mm";
-        if (addSec) {
-            format += ampm ? ":ssa" : ":ss";
-        }
-        return time.format(DateTimeFormatter.ofPattern(format));
+    public static void sleep500Milli() {
+        TimeUtils.sleep500Milli();
     }
 
-    public static String getTimeNoSec() {
-        return getTime(false, true);
+    public static void sleep100Milli() {
+        TimeUtils.sleep100Milli();
     }
 
-    public static String getTimeGlobal() {
-        return getTime(true, false);
+    public static void sleep(long millis) {
+        TimeUtils.sleep(millis);
     }
 
-    // time in MM:SS format
-    public static String getTimeMS(long ms) {
-        long min = TimeUnit.MILLISECONDS.toMinutes(ms);
-        ms -= TimeUnit.MINUTES.toMillis(min);
-        long sec = TimeUnit.MILLISECONDS.toSeconds(ms);
-        return min + Constants.COLON + (sec > 9 ? sec : "0" + sec);
+    public static void sleep(long millis, MyLogger logger) {
+        TimeUtils.sleep(millis, logger);
     }
 
-    public static String addBraces(boolean s) {
-        return addBraces(s + "");
+    public static String formatTime(long sec) {
+        return TimeUtils.formatTime(sec);
     }
 
-    public static String addBraces(long s) {
-        return addBraces(s + "");
+    public static String formatTimeWithUnits(long sec) {
+        return TimeUtils.formatTimeWithUnits(sec);
     }
 
-    public static String addBraces(String s) {
-        return "[" + s + "]";
+    public static String formatTimeHMS(long sec) {
+        return TimeUtils.formatTimeHMS(sec);
     }
 
-    public static String changeCase(CaseType type, String str) {
-        switch (type) {
-            case LOWER:
-                return str.toLowerCase();
-            case UPPER:
-                return str.toUpperCase();
-            case TITLE:
-                return convertToTitleCase(str);
-            case INVERT:
-                return invertCase(str);
-        }
-        return str;
+    public static String getTimeDiffSecStr(long time) {
+        return TimeUtils.getTimeDiffSecStr(time);
     }
 
-    public static String invertCase(String str) {
-        char[] arr = str.toCharArray();
-
-        StringBuilder ans = new StringBuilder();
-        for (char c : arr) {
-            if (isAlphabet(c)) {
-                ans.append(isUpper(c) ? Character.toString(c).toLowerCase() : Character.toString(c).toUpperCase());
-            } else {
-                ans.append(c);
-            }
-        }
-        return ans.toString();
+    public static String getTimeDiffSecMilliStr(long time) {
+        return TimeUtils.getTimeDiffSecMilliStr(time);
     }
 
-    /**
-     * This will take screen shot of primary screen
-     * and save at given path with name with date time
-     *
-     * @param path   folder name to save
-     * @param logger MyLogger object
-     * @return true if success
-     */
-    public static boolean takeScreenshot(String path, MyLogger logger) {
-        boolean result = true;
-        String format = "png";
-        String loc = path + SLASH + "screenshot-" + formatForFilename(getFormattedDate()) + DOT + format;
-        BufferedImage image = null;
-        try {
-            image = new Robot().createScreenCapture(new Rectangle(Toolkit.getDefaultToolkit().getScreenSize()));
-            ImageIO.write(image, format, new File(loc));
-        } catch (AWTException | IOException e) {
-            logger.error("Error in taking screenshot and saving at path [" + addBraces(path));
-            result = false;
-        }
-        return result;
+    public static String getTimeDiffSecMilliStr(long time, boolean addBraces) {
+        return TimeUtils.getTimeDiffSecMilliStr(time, addBraces);
     }
 
-    public static void setWindowPosition(WinDirection winDirection, MyLogger logger) {
-        try {
-            Robot r = new Robot();
-            r.keyPress(KeyEvent.VK_WINDOWS);
-            r.keyPress(winDirection.val);
-            //Release Windows button
-            r.keyRelease(winDirection.val);
-            r.keyRelease(KeyEvent.VK_WINDOWS);
-        } catch (Exception e) {
-            logger.error("Unable to move window to [" + winDirection + "]", e);
-        }
+    public static long getNowMillis() {
+        return TimeUtils.getNowMillis();
     }
 
-    public static String formatForFilename(String data) {
-        for (FilenameReplacer f : FilenameReplacer.values()) {
-            if (data.contains(f.ch)) {
-                data = data.replaceAll(f.ch, f.rep);
-            }
-        }
-        return data;
+    public static long getTimeDiffMin(long millis) {
+        return TimeUtils.getTimeDiffMin(millis);
     }
 
-    public static String getUnicodeStr(String codeAsStr) {
-        return getUnicodeStr(convertToInt(codeAsStr));
+    public static long getTimeDiffSec(long millis) {
+        return TimeUtils.getTimeDiffSec(millis);
     }
 
-    public static String getUnicodeStr(int code) {
-        return new String(Character.toChars(code));
+    public static String getTimeDiffSecMilli(long millis) {
+        return TimeUtils.getTimeDiffSecMilli(millis);
     }
 
-    public static String convertToTitleCase(String str) {
-        String[] titleCaseChars = new String[]{"_", " ", "-"};
-        for (String ch : titleCaseChars) {
-            String[] arr = str.split(ch);
-            StringBuilder ans = new StringBuilder();
-            if (arr.length == 1) {
-                str = arr[0];
-                if (hasValue(str)) {
-                    str = Character.toUpperCase(str.charAt(0)) + str.substring(1);
-                }
-            } else {
-                for (String a : arr) {
-                    if (hasValue(a)) {
-                        ans.append(Character.toUpperCase(a.charAt(0))).append(a.substring(1));
-                    }
-                    ans.append(ch);
-                }
-                str = ans.toString();
-            }
-        }
-        return str;
+    public static long getTimeDiff(long millis) {
+        return TimeUtils.getTimeDiff(millis);
     }
 
-    public static Object callMethod(Object obj, String methodName, Object[] args, MyLogger logger) {
-        try {
-            return callMethodWithException(obj, methodName, args, logger);
-        } catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
-            logger.error("Error in calling method: " + methodName + " on class "
-                    + obj.getClass().getSimpleName() + ". Details: ", e);
-        }
-        return null;
+    public static String getFormattedDate() {
+        return TimeUtils.getFormattedDate();
     }
 
-    public static Object callMethodWithException(Object obj, String methodName, Object[] args, MyLogger logger)
-            throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
+    public static String getFormattedDate(long dt) {
+        return TimeUtils.getFormattedDate(dt);
+    }
 
-        String argsDtl = "No arg";
-        Class<?>[] clz = new Class[0];
-        if (args != null) {
-            clz = new Class[args.length];
-            StringBuilder sb = new StringBuilder();
-            sb.append(Arrays.asList(args).toString());
-            sb.append(", Types: {");
-            int x = 0;
-            for (Object o : args) {
-                clz[x] = o.getClass();
-                sb.append(clz[x].getName()).append(", ");
-                x++;
-            }
-            sb.append("}");
-            argsDtl = sb.toString();
-        }
+    public static String getDateDDMMMYYYY() {
+        return TimeUtils.getDateDDMMMYYYY();
+    }
 
-        logger.debug("Calling method " + addBraces(methodName)
-                + " on class " + addBraces(obj.getClass().getSimpleName())
-                + " args " + argsDtl
-        );
+    public static String getTime(boolean addSec, boolean ampm) {
+        return TimeUtils.getTime(addSec, ampm);
+    }
 
-        if (args == null) {
-            return obj.getClass().getMethod(methodName).invoke(obj);
-        }
-        return obj.getClass().getMethod(methodName, clz).invoke(obj, args);
+    public static String getTimeNoSec() {
+        return TimeUtils.getTimeNoSec();
+    }
+
+    public static String getTimeGlobal() {
+        return TimeUtils.getTimeGlobal();
+    }
+
+    public static String getTimeMS(long ms) {
+        return TimeUtils.getTimeMS(ms);
+    }
+
+    // Desktop helpers, see {@link DesktopUtils}
+
+    public static boolean takeScreenshot(String path, MyLogger logger) {
+        return DesktopUtils.takeScreenshot(path, logger);
+    }
+
+    public static void setWindowPosition(WinDirection winDirection, MyLogger logger) {
+        DesktopUtils.setWindowPosition(winDirection, logger);
     }
 }
@@ -79,6 +79,16 @@ public class DefaultConfigs {
         return Constants.EMPTY;
     }
 
+    /**
+     * Sets configuration in memory, call {@link #saveConfig()} to store it
+     *
+     * @param name  config name
+     * @param value config value
+     */
+    public void setConfig(String name, String value) {
+        configs.setProperty(name, value);
+    }
+
     private void readConfig() {
         logger.info("Loading properties from path " + Utils.addBraces(propFileName));
         try (InputStream is = Files.newInputStream(Paths.get(propFileName))) {
@@ -98,17 +108,29 @@ public class DefaultConfigs {
     }
 
     /**
-     * Save config in property file
+     * Save current config, including values set by
+     * {@link #setConfig(String, String)}, in property file
+     */
+    public void saveConfig() {
+        logger.info("Saving properties at " + propUrl.getPath());
+        logger.debug("Config is " + configs);
+        Utils.saveProperties(configs, propUrl.getPath(), logger);
+    }
+
+    /**
+     * Save config in property file.  Values of config names are read
+     * from getters, other keys already in configs, like ones set by
+     * {@link #setConfig(String, String)}, are kept.
      *
      * @param obj Calling class that has getters
      */
     public void saveConfig(Object obj) {
         logger.info("Saving properties at " + propUrl.getPath());
-        configs.clear();
         for (String cfg : config) {
             try {
                 configs.put(cfg, Utils.callMethod(obj, "get" + cfg, null, logger));
             } catch (NullPointerException e) {
+                configs.remove(cfg);
                 logger.error("Unable to save config for [" + cfg + "].  Please check if method [get" + cfg + "] exists.");
             }
         }
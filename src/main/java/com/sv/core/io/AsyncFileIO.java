@@ -0,0 +1,453 @@
+package com.sv.core.io;
+
+import com.sv.core.Utils;
+import com.sv.core.exception.AppException;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non blocking counterparts of file helpers in `Utils`.  Reads and writes
+ * use `AsynchronousFileChannel`, other calls run on a dedicated I/O
+ * executor so UI and event loop threads are never blocked.
+ * <p>
+ * Cancelling a returned future closes the channel or interrupts the task.
+ */
+public final class AsyncFileIO implements Closeable {
+
+    private static final int DEFAULT_THREADS = 4;
+    private static final AtomicInteger POOL_ID = new AtomicInteger();
+
+    private static volatile AsyncFileIO defaultInstance;
+
+    private final ExecutorService executor;
+    private final Set<OpenOption> readOptions = new HashSet<>(Arrays.asList(StandardOpenOption.READ));
+    private final Set<OpenOption> writeOptions = new HashSet<>(Arrays.asList(
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+
+    public AsyncFileIO() {
+        this(DEFAULT_THREADS);
+    }
+
+    /**
+     * Creates instance with own daemon I/O threads
+     *
+     * @param threads number of I/O threads
+     */
+    public AsyncFileIO(int threads) {
+        int id = POOL_ID.incrementAndGet();
+        AtomicInteger count = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(threads, 1), r -> {
+            Thread t = new Thread(r, "async-file-io-" + id + "-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Shared instance, created on first use
+     *
+     * @return AsyncFileIO
+     */
+    public static AsyncFileIO getDefault() {
+        if (defaultInstance == null) {
+            synchronized (AsyncFileIO.class) {
+                if (defaultInstance == null) {
+                    defaultInstance = new AsyncFileIO();
+                }
+            }
+        }
+        return defaultInstance;
+    }
+
+    public CompletableFuture<byte[]> readAllBytes(String path) {
+        ChannelFuture<byte[]> future = new ChannelFuture<>();
+        // open and size can block, so they run on I/O thread too
+        execute(future, () -> startRead(future, path));
+        return future;
+    }
+
+    private void startRead(ChannelFuture<byte[]> future, String path) throws IOException {
+        AsynchronousFileChannel ch = AsynchronousFileChannel.open(Utils.createPath(path), readOptions, executor);
+        future.channel = ch;
+        if (future.isCancelled()) {
+            future.closeChannel();
+            return;
+        }
+        try {
+            long size = ch.size();
+            if (size > Integer.MAX_VALUE - 8) {
+                throw new AppException("File " + Utils.addBraces(path) + " is too large to read in memory");
+            }
+            ByteBuffer buf = ByteBuffer.allocate((int) size);
+            ch.read(buf, 0, buf, new CompletionHandler<Integer, ByteBuffer>() {
+                @Override
+                public void completed(Integer read, ByteBuffer b) {
+                    if (read >= 0 && b.hasRemaining() && !future.isDone()) {
+                        ch.read(b, b.position(), b, this);
+                        return;
+                    }
+                    future.closeChannel();
+                    byte[] data = b.position() == b.capacity() ? b.array() : Arrays.copyOf(b.array(), b.position());
+                    future.complete(data);
+                }
+
+                @Override
+                public void failed(Throwable exc, ByteBuffer b) {
+                    future.closeChannel();
+                    future.completeExceptionally(exc);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            future.closeChannel();
+            throw e;
+        }
+    }
+
+    /**
+     * Async counterpart of {@link com.sv.core.FileUtils#readFile(String, com.sv.core.logger.MyLogger)}
+     *
+     * @param path    file path
+     * @param charset to decode
+     * @return future of lines
+     */
+    public CompletableFuture<List<String>> readFile(String path, Charset charset) {
+        CompletableFuture<byte[]> bytes = readAllBytes(path);
+        CompletableFuture<List<String>> lines = bytes.thenApplyAsync(b -> toLines(b, charset), executor);
+        cancelTogether(lines, bytes);
+        return lines;
+    }
+
+    public CompletableFuture<Long> write(String path, byte[] data) {
+        return write(path, ByteBuffer.wrap(data), writeOptions);
+    }
+
+    /**
+     * Async counterpart of {@link com.sv.core.FileUtils#writeFile(String, String, com.sv.core.logger.MyLogger)},
+     * replaces old content of file
+     *
+     * @param path    file path
+     * @param data    to write
+     * @param charset to encode
+     * @return future of bytes written
+     */
+    public CompletableFuture<Long> writeFile(String path, String data, Charset charset) {
+        return write(path, ByteBuffer.wrap(data.getBytes(charset)), writeOptions);
+    }
+
+    /**
+     * Appends data at end of file, file is created if needed.  Write
+     * is done on I/O thread with a channel opened in append mode, so
+     * concurrent appends to same file do not overwrite each other.
+     *
+     * @param path file path
+     * @param data to append
+     * @return future of bytes written
+     */
+    public CompletableFuture<Long> append(String path, byte[] data) {
+        return supply(() -> writeChunks(Utils.createPath(path), Collections.singletonList(data), true));
+    }
+
+    public CompletableFuture<Long> getFileSize(String path) {
+        return supply(() -> Utils.getFileSize(path));
+    }
+
+    public CompletableFuture<Boolean> deleteFile(String path) {
+        return supply(() -> Utils.deleteFile(path));
+    }
+
+    /**
+     * Async counterpart of {@link com.sv.core.FileUtils#readPropertyFile(String, com.sv.core.logger.MyLogger)},
+     * future fails instead of returning empty properties
+     *
+     * @param path file path
+     * @return future of properties
+     */
+    public CompletableFuture<Properties> readPropertyFile(String path) {
+        CompletableFuture<byte[]> bytes = readAllBytes(path);
+        CompletableFuture<Properties> props = bytes.thenApplyAsync(b -> {
+            Properties prop = new Properties();
+            try {
+                prop.load(new ByteArrayInputStream(b));
+            } catch (IOException e) {
+                throw new AppException(e.getMessage(), e);
+            }
+            return prop;
+        }, executor);
+        cancelTogether(props, bytes);
+        return props;
+    }
+
+    /**
+     * Returns batch to collect many small writes that
+     * are submitted to I/O executor as one task
+     *
+     * @return new batch
+     */
+    public WriteBatch batch() {
+        return new WriteBatch();
+    }
+
+    /**
+     * Stops I/O threads, pending tasks are not run
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        synchronized (AsyncFileIO.class) {
+            if (defaultInstance == this) {
+                defaultInstance = null;
+            }
+        }
+    }
+
+    private CompletableFuture<Long> write(String path, ByteBuffer data, Set<OpenOption> options) {
+        ChannelFuture<Long> future = new ChannelFuture<>();
+        execute(future, () -> startWrite(future, Utils.createPath(path), data, 0, options));
+        return future;
+    }
+
+    private void execute(CompletableFuture<?> future, IoTask task) {
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } catch (IOException | RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    // gathering write, in append mode each write goes to current end of file
+    private static long writeChunks(Path path, List<byte[]> chunks, boolean append) throws IOException {
+        OpenOption mode = append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING;
+        long total = 0;
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode)) {
+            ByteBuffer[] buffers = new ByteBuffer[chunks.size()];
+            for (int i = 0; i < buffers.length; i++) {
+                buffers[i] = ByteBuffer.wrap(chunks.get(i));
+                total += buffers[i].remaining();
+            }
+            long written = 0;
+            while (written < total) {
+                written += ch.write(buffers);
+            }
+        }
+        return total;
+    }
+
+    @FunctionalInterface
+    private interface IoTask {
+        void run() throws IOException;
+    }
+
+    private void startWrite(ChannelFuture<Long> future, Path path, ByteBuffer data, long position,
+                            Set<OpenOption> options) throws IOException {
+        AsynchronousFileChannel ch = AsynchronousFileChannel.open(path, options, executor);
+        future.channel = ch;
+        if (future.isCancelled()) {
+            future.closeChannel();
+            return;
+        }
+        int total = data.remaining();
+        ch.write(data, position, position, new CompletionHandler<Integer, Long>() {
+            @Override
+            public void completed(Integer written, Long pos) {
+                if (data.hasRemaining() && !future.isDone()) {
+                    ch.write(data, pos + written, pos + written, this);
+                    return;
+                }
+                future.closeChannel();
+                future.complete((long) total);
+            }
+
+            @Override
+            public void failed(Throwable exc, Long pos) {
+                future.closeChannel();
+                future.completeExceptionally(exc);
+            }
+        });
+    }
+
+    private <T> CompletableFuture<T> supply(Callable<T> task) {
+        TaskFuture<T> future = new TaskFuture<>();
+        try {
+            future.task = executor.submit(() -> {
+                try {
+                    future.complete(task.call());
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private static void cancelTogether(CompletableFuture<?> dependent, CompletableFuture<?> source) {
+        dependent.whenComplete((r, e) -> {
+            if (dependent.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+    }
+
+    private static List<String> toLines(byte[] data, Charset charset) {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(data), charset))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        } catch (IOException e) {
+            throw new AppException(e.getMessage(), e);
+        }
+        return lines;
+    }
+
+    /**
+     * Collects writes per file.  All writes of a batch are done by one
+     * task on the I/O executor, data for the same file is written in
+     * order it was added.
+     */
+    public final class WriteBatch {
+
+        private final Map<Path, List<byte[]>> writes = new LinkedHashMap<>();
+        private final Set<Path> appends = new HashSet<>();
+
+        private WriteBatch() {
+        }
+
+        /**
+         * Adds data to replace content of file
+         *
+         * @param path file path
+         * @param data to write
+         * @return this batch
+         */
+        public WriteBatch write(String path, byte[] data) {
+            Path p = Utils.createPath(path);
+            List<byte[]> list = writes.computeIfAbsent(p, k -> new ArrayList<>());
+            // earlier data for this file is replaced too
+            appends.remove(p);
+            list.clear();
+            list.add(data);
+            return this;
+        }
+
+        public WriteBatch write(String path, String data, Charset charset) {
+            return write(path, data.getBytes(charset));
+        }
+
+        /**
+         * Adds data to append at end of file
+         *
+         * @param path file path
+         * @param data to append
+         * @return this batch
+         */
+        public WriteBatch append(String path, byte[] data) {
+            Path p = Utils.createPath(path);
+            if (!writes.containsKey(p)) {
+                appends.add(p);
+            }
+            writes.computeIfAbsent(p, k -> new ArrayList<>()).add(data);
+            return this;
+        }
+
+        public int size() {
+            return writes.size();
+        }
+
+        /**
+         * Submits all writes as one task, batch can be reused after this
+         *
+         * @return future of total bytes written
+         */
+        public CompletableFuture<Long> submit() {
+            Map<Path, List<byte[]>> snapshot = new LinkedHashMap<>(writes);
+            Set<Path> appendSnapshot = new HashSet<>(appends);
+            writes.clear();
+            appends.clear();
+            return supply(() -> {
+                long total = 0;
+                for (Map.Entry<Path, List<byte[]>> e : snapshot.entrySet()) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new AppException("Write batch cancelled");
+                    }
+                    total += writeChunks(e.getKey(), e.getValue(), appendSnapshot.contains(e.getKey()));
+                }
+                return total;
+            });
+        }
+    }
+
+    private static final class ChannelFuture<T> extends CompletableFuture<T> {
+
+        private volatile AsynchronousFileChannel channel;
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            closeChannel();
+            return cancelled;
+        }
+
+        void closeChannel() {
+            AsynchronousFileChannel ch = channel;
+            if (ch != null) {
+                try {
+                    ch.close();
+                } catch (IOException e) {
+                    // no action
+                }
+            }
+        }
+    }
+
+    private static final class TaskFuture<T> extends CompletableFuture<T> {
+
+        private volatile Future<?> task;
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            Future<?> t = task;
+            if (t != null) {
+                t.cancel(true);
+            }
+            return cancelled;
+        }
+    }
+}
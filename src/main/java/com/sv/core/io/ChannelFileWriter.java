@@ -0,0 +1,210 @@
+package com.sv.core.io;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
+
+/**
+ * Streaming file writer that encodes text through a pooled direct
+ * buffer straight into a `FileChannel`.  Content is never held in
+ * memory as a whole.  An instance is meant for one thread.
+ * <p>
+ * By default file is created or truncated, so no stale bytes
+ * of old content are left at end.
+ */
+public final class ChannelFileWriter implements Closeable, Flushable {
+
+    public enum SyncPolicy {
+        // leave it to OS
+        NO_SYNC,
+        // force content to device on close
+        SYNC_DATA_ON_CLOSE,
+        // force content and metadata to device on close
+        SYNC_ON_CLOSE
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_POOLED = 16;
+    private static final Queue<ByteBuffer> POOL = new ConcurrentLinkedQueue<>();
+    private static final OpenOption[] DEFAULT_OPTIONS = {
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE
+    };
+
+    private final FileChannel channel;
+    private final CharsetEncoder encoder;
+    private final SyncPolicy syncPolicy;
+    private final String lineSeparator;
+    private final CharBuffer carry = CharBuffer.allocate(2);
+    private ByteBuffer buffer;
+    private long bytesWritten;
+
+    public ChannelFileWriter(Path path, Charset charset) throws IOException {
+        this(path, charset, SyncPolicy.NO_SYNC);
+    }
+
+    public ChannelFileWriter(Path path, Charset charset, SyncPolicy syncPolicy) throws IOException {
+        this(path, charset, syncPolicy, DEFAULT_OPTIONS);
+    }
+
+    /**
+     * Opens file for writing
+     *
+     * @param path       file path
+     * @param charset    to encode text
+     * @param syncPolicy what to force on close
+     * @param options    open options, WRITE is always added
+     * @throws IOException if file can not be opened
+     */
+    public ChannelFileWriter(Path path, Charset charset, SyncPolicy syncPolicy, OpenOption... options)
+            throws IOException {
+        OpenOption[] opts = Arrays.copyOf(options, options.length + 1);
+        opts[options.length] = StandardOpenOption.WRITE;
+        this.channel = FileChannel.open(path, opts);
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.syncPolicy = syncPolicy;
+        this.lineSeparator = System.lineSeparator();
+        this.buffer = acquire();
+        carry.flip();
+    }
+
+    /**
+     * Writes all items followed by line separator and closes the file
+     *
+     * @param path       file path
+     * @param lines      text lines
+     * @param charset    to encode text
+     * @param syncPolicy what to force on close
+     * @return number of bytes written
+     * @throws IOException in writing
+     */
+    public static long writeLines(Path path, Iterable<? extends CharSequence> lines, Charset charset,
+                                  SyncPolicy syncPolicy) throws IOException {
+        try (ChannelFileWriter w = new ChannelFileWriter(path, charset, syncPolicy)) {
+            for (CharSequence line : lines) {
+                w.writeLine(line);
+            }
+            w.flush();
+            return w.getBytesWritten();
+        }
+    }
+
+    public static long writeLines(Path path, Stream<? extends CharSequence> lines, Charset charset,
+                                  SyncPolicy syncPolicy) throws IOException {
+        try (ChannelFileWriter w = new ChannelFileWriter(path, charset, syncPolicy)) {
+            Iterator<? extends CharSequence> it = lines.iterator();
+            while (it.hasNext()) {
+                w.writeLine(it.next());
+            }
+            w.flush();
+            return w.getBytesWritten();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public ChannelFileWriter write(CharSequence text) throws IOException {
+        CharBuffer in = CharBuffer.wrap(text);
+        if (carry.hasRemaining() && in.hasRemaining()) {
+            // complete surrogate pair split between two writes
+            carry.compact().put(in.get()).flip();
+            encode(carry, false);
+        }
+        encode(in, false);
+        if (in.hasRemaining()) {
+            carry.clear();
+            carry.put(in).flip();
+        }
+        return this;
+    }
+
+    public ChannelFileWriter writeLine(CharSequence line) throws IOException {
+        return write(line).write(lineSeparator);
+    }
+
+    /**
+     * Bytes written to channel so far, call flush before
+     * to include buffered bytes
+     *
+     * @return number of bytes
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (buffer == null) {
+            return;
+        }
+        try {
+            encode(carry, true);
+            while (encoder.flush(buffer) == CoderResult.OVERFLOW) {
+                drain();
+            }
+            drain();
+            if (syncPolicy != SyncPolicy.NO_SYNC) {
+                channel.force(syncPolicy == SyncPolicy.SYNC_ON_CLOSE);
+            }
+        } finally {
+            release(buffer);
+            buffer = null;
+            channel.close();
+        }
+    }
+
+    private void encode(CharBuffer in, boolean endOfInput) throws IOException {
+        while (true) {
+            CoderResult r = encoder.encode(in, buffer, endOfInput);
+            if (r.isOverflow()) {
+                drain();
+            } else if (r.isUnderflow()) {
+                return;
+            } else {
+                r.throwException();
+            }
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            bytesWritten += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static ByteBuffer acquire() {
+        ByteBuffer b = POOL.poll();
+        return b == null ? ByteBuffer.allocateDirect(BUFFER_SIZE) : b;
+    }
+
+    private static void release(ByteBuffer b) {
+        b.clear();
+        if (POOL.size() < MAX_POOLED) {
+            POOL.offer(b);
+        }
+    }
+}
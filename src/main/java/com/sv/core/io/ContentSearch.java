@@ -0,0 +1,411 @@
+package com.sv.core.io;
+
+import com.sv.core.Utils;
+import com.sv.core.logger.MyLogger;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Searches a literal text in files using memory mapped bytes and
+ * Boyer-Moore-Horspool, files are searched in parallel on a bounded pool.
+ * A line is reported once even if text is present many times in it.
+ * <p>
+ * Ignore case works for ASCII letters only.  Charset must encode
+ * \n as single byte, like UTF-8 or ISO-8859-1.
+ */
+public final class ContentSearch {
+
+    private static final byte LF = '\n';
+    private static final byte CR = '\r';
+    private static final int ALPHABET = 256;
+    private static final long REGION_SIZE = 256L * 1024 * 1024;
+
+    private final byte[] pattern;
+    private final int[] shift = new int[ALPHABET];
+    private final Charset charset;
+    private final boolean ignoreCase, wholeWord;
+    private final long maxMatches;
+    private final int threads;
+    private final MyLogger logger;
+
+    private ContentSearch(Builder b) {
+        this.charset = b.charset;
+        this.ignoreCase = b.ignoreCase;
+        this.wholeWord = b.wholeWord;
+        this.maxMatches = b.maxMatches;
+        this.threads = b.threads;
+        this.logger = b.logger;
+        byte[] p = b.text.getBytes(charset);
+        if (ignoreCase) {
+            for (int i = 0; i < p.length; i++) {
+                p[i] = fold(p[i]);
+            }
+        }
+        this.pattern = p;
+        int last = p.length - 1;
+        for (int i = 0; i < ALPHABET; i++) {
+            shift[i] = p.length;
+        }
+        for (int i = 0; i < last; i++) {
+            shift[p[i] & 0xFF] = last - i;
+            if (ignoreCase) {
+                shift[upper(p[i]) & 0xFF] = last - i;
+            }
+        }
+    }
+
+    public static Builder builder(String text) {
+        return new Builder(text);
+    }
+
+    /**
+     * A line that contains the text
+     */
+    public static final class Match {
+        private final Path path;
+        private final long lineNumber, offset;
+        private final String line;
+
+        private Match(Path path, long lineNumber, long offset, String line) {
+            this.path = path;
+            this.lineNumber = lineNumber;
+            this.offset = offset;
+            this.line = line;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        /**
+         * @return line number starting from 1
+         */
+        public long getLineNumber() {
+            return lineNumber;
+        }
+
+        /**
+         * @return byte offset of first match in file
+         */
+        public long getOffset() {
+            return offset;
+        }
+
+        public String getLine() {
+            return line;
+        }
+
+        @Override
+        public String toString() {
+            return path + ":" + lineNumber + ":" + line;
+        }
+    }
+
+    /**
+     * Searches files and returns matches sorted by path and line
+     *
+     * @param files to search
+     * @return matches up to max matches
+     */
+    public List<Match> search(Collection<Path> files) {
+        List<Match> list = new ArrayList<>();
+        search(files, m -> {
+            synchronized (list) {
+                list.add(m);
+            }
+        });
+        list.sort(Comparator.comparing(Match::getPath).thenComparingLong(Match::getLineNumber));
+        return list;
+    }
+
+    /**
+     * Searches files passing matches to consumer as found.  Consumer
+     * is called from pool threads.
+     *
+     * @param files    to search
+     * @param consumer receives matches
+     * @return number of matches
+     */
+    public long search(Collection<Path> files, Consumer<Match> consumer) {
+        Run run = new Run(consumer);
+        try {
+            for (Path p : files) {
+                if (!run.submit(p)) {
+                    break;
+                }
+            }
+        } finally {
+            run.finish();
+        }
+        return run.found.get();
+    }
+
+    /**
+     * Searches files under root as the walker finds them
+     *
+     * @param root     directory to search
+     * @param walker   to select files
+     * @param consumer receives matches, called from pool threads
+     * @return number of matches
+     */
+    public long search(Path root, FileWalker walker, Consumer<Match> consumer) {
+        Run run = new Run(consumer);
+        try {
+            // walk ends once max matches are found
+            walker.walkWhile(root, (p, attrs) -> run.submit(p));
+        } finally {
+            run.finish();
+        }
+        return run.found.get();
+    }
+
+    /**
+     * Searches one file on calling thread
+     *
+     * @param path     file
+     * @param consumer receives matches
+     * @return number of matches
+     */
+    public long searchFile(Path path, Consumer<Match> consumer) {
+        AtomicLong found = new AtomicLong();
+        searchFile(path, consumer, found);
+        return Math.min(found.get(), maxMatches);
+    }
+
+    private void searchFile(Path path, Consumer<Match> consumer, AtomicLong found) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size(), regionStart = 0, lineNo = 1;
+            while (regionStart < size && found.get() < maxMatches) {
+                int len = (int) Math.min(REGION_SIZE, size - regionStart);
+                MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, regionStart, len);
+                if (regionStart + len < size) {
+                    // end region at a line break so no line is split
+                    int end = len;
+                    while (end > 0 && buf.get(end - 1) != LF) {
+                        end--;
+                    }
+                    len = end > 0 ? end : len;
+                }
+                lineNo = searchRegion(path, buf, regionStart, len, lineNo, consumer, found);
+                regionStart += len;
+            }
+        } catch (IOException e) {
+            if (logger != null) {
+                logger.warn("Unable to search " + Utils.addBraces(path.toString()) + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private long searchRegion(Path path, MappedByteBuffer buf, long regionStart, int len, long lineNo,
+                              Consumer<Match> consumer, AtomicLong found) {
+        int m = pattern.length, last = m - 1;
+        int counted = 0;
+        int i = 0;
+        while (i <= len - m) {
+            int j = last;
+            while (j >= 0 && byteAt(buf, i + j) == pattern[j]) {
+                j--;
+            }
+            if (j < 0 && (!wholeWord || isWordBoundary(buf, i, m, len))) {
+                int lineStart = lineStart(buf, i);
+                int lineEnd = lineEnd(buf, i + m, len);
+                lineNo += countLf(buf, counted, lineStart);
+                counted = lineStart;
+                if (found.incrementAndGet() > maxMatches) {
+                    return lineNo;
+                }
+                consumer.accept(new Match(path, lineNo, regionStart + i, decode(buf, lineStart, lineEnd)));
+                // one match per line
+                i = lineEnd + 1;
+                continue;
+            }
+            i += m == 0 ? 1 : shift[buf.get(i + last) & 0xFF];
+        }
+        return lineNo + countLf(buf, counted, len);
+    }
+
+    private byte byteAt(MappedByteBuffer buf, int i) {
+        byte b = buf.get(i);
+        return ignoreCase ? fold(b) : b;
+    }
+
+    private boolean isWordBoundary(MappedByteBuffer buf, int start, int len, int limit) {
+        return (start == 0 || isWordEdge(buf.get(start - 1)))
+                && (start + len >= limit || isWordEdge(buf.get(start + len)));
+    }
+
+    // non ascii bytes are taken as part of a word
+    private static boolean isWordEdge(byte b) {
+        return b >= 0 && Utils.isWholeWordChar((char) b);
+    }
+
+    private String decode(MappedByteBuffer buf, int start, int end) {
+        if (end > start && buf.get(end - 1) == CR) {
+            end--;
+        }
+        byte[] bytes = new byte[end - start];
+        for (int k = 0; k < bytes.length; k++) {
+            bytes[k] = buf.get(start + k);
+        }
+        return new String(bytes, charset);
+    }
+
+    private static int lineStart(MappedByteBuffer buf, int i) {
+        while (i > 0 && buf.get(i - 1) != LF) {
+            i--;
+        }
+        return i;
+    }
+
+    private static int lineEnd(MappedByteBuffer buf, int i, int len) {
+        while (i < len && buf.get(i) != LF) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int countLf(MappedByteBuffer buf, int from, int to) {
+        int n = 0;
+        for (int k = from; k < to; k++) {
+            if (buf.get(k) == LF) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    private static byte fold(byte b) {
+        return b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+    }
+
+    private static byte upper(byte b) {
+        return b >= 'a' && b <= 'z' ? (byte) (b - ('a' - 'A')) : b;
+    }
+
+    /**
+     * One search over many files, in flight files are bounded
+     * so a long file list does not fill the queue
+     */
+    private final class Run {
+        private final Consumer<Match> consumer;
+        private final AtomicLong found = new AtomicLong();
+        private final ExecutorService pool = Executors.newFixedThreadPool(threads);
+        private final Semaphore inFlight = new Semaphore(threads * 2);
+
+        Run(Consumer<Match> consumer) {
+            this.consumer = consumer;
+        }
+
+        boolean submit(Path p) {
+            if (found.get() >= maxMatches) {
+                return false;
+            }
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            pool.execute(() -> {
+                try {
+                    if (found.get() < maxMatches) {
+                        searchFile(p, consumer, found);
+                    }
+                } finally {
+                    inFlight.release();
+                }
+            });
+            return true;
+        }
+
+        void finish() {
+            pool.shutdown();
+            try {
+                pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                pool.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+            if (found.get() > maxMatches) {
+                found.set(maxMatches);
+            }
+        }
+    }
+
+    public static final class Builder {
+
+        private final String text;
+        private Charset charset = StandardCharsets.UTF_8;
+        private boolean ignoreCase, wholeWord;
+        private long maxMatches = Long.MAX_VALUE;
+        private int threads = Runtime.getRuntime().availableProcessors();
+        private MyLogger logger;
+
+        private Builder(String text) {
+            this.text = text;
+        }
+
+        public Builder charset(Charset charset) {
+            this.charset = charset;
+            return this;
+        }
+
+        public Builder ignoreCase(boolean ignoreCase) {
+            this.ignoreCase = ignoreCase;
+            return this;
+        }
+
+        /**
+         * Match only if text is not surrounded by letters or digits,
+         * see {@link com.sv.core.StringUtils#isWholeWordChar(char)}
+         *
+         * @param wholeWord true to match whole word
+         * @return this builder
+         */
+        public Builder wholeWord(boolean wholeWord) {
+            this.wholeWord = wholeWord;
+            return this;
+        }
+
+        /**
+         * Search stops once this many matches are found
+         *
+         * @param maxMatches limit
+         * @return this builder
+         */
+        public Builder maxMatches(long maxMatches) {
+            this.maxMatches = Math.max(maxMatches, 0);
+            return this;
+        }
+
+        public Builder threads(int threads) {
+            this.threads = Math.max(threads, 1);
+            return this;
+        }
+
+        public Builder logger(MyLogger logger) {
+            this.logger = logger;
+            return this;
+        }
+
+        public ContentSearch build() {
+            return new ContentSearch(this);
+        }
+    }
+}
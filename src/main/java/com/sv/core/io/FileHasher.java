@@ -0,0 +1,284 @@
+package com.sv.core.io;
+
+import com.sv.core.exception.AppException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Hashes large files by memory mapping fixed size chunks and hashing
+ * them in parallel on a fork join pool kept for the life of the hasher,
+ * so digest objects are reused per pool thread across files.  Pool
+ * threads are daemon and end when idle.
+ * <p>
+ * Result is a tree hash: each chunk digest is <pre>H(0x00 || chunk)</pre>
+ * and root is <pre>H(0x01 || chunk digests in order)</pre>
+ * so it differs from digest of the whole file in one pass.  Two files
+ * give same root only if hashed with same algorithm and chunk size.
+ */
+public final class FileHasher {
+
+    public static final String DEFAULT_ALGORITHM = "SHA-256";
+    public static final int DEFAULT_CHUNK_SIZE = 4 * 1024 * 1024;
+
+    private static final byte LEAF = 0;
+    private static final byte NODE = 1;
+
+    private final String algorithm;
+    private final int chunkSize, parallelism;
+    private final ThreadLocal<MessageDigest> digests;
+    private volatile ForkJoinPool pool;
+
+    public FileHasher() {
+        this(DEFAULT_ALGORITHM, DEFAULT_CHUNK_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates hasher
+     *
+     * @param algorithm   MessageDigest algorithm like SHA-256
+     * @param chunkSize   bytes per chunk
+     * @param parallelism threads used per file
+     */
+    public FileHasher(String algorithm, int chunkSize, int parallelism) {
+        this(algorithm, chunkSize, Math.max(parallelism, 1), null);
+    }
+
+    /**
+     * Creates hasher that runs on given pool, for example one shared
+     * with other work of the app
+     *
+     * @param algorithm MessageDigest algorithm like SHA-256
+     * @param chunkSize bytes per chunk
+     * @param pool      fork join pool to hash chunks on
+     */
+    public FileHasher(String algorithm, int chunkSize, ForkJoinPool pool) {
+        this(algorithm, chunkSize, pool.getParallelism(), pool);
+    }
+
+    private FileHasher(String algorithm, int chunkSize, int parallelism, ForkJoinPool pool) {
+        newDigest(algorithm);
+        this.algorithm = algorithm;
+        this.chunkSize = Math.max(chunkSize, 1);
+        this.parallelism = parallelism;
+        this.pool = pool;
+        this.digests = ThreadLocal.withInitial(() -> newDigest(algorithm));
+    }
+
+    public FileHash hash(Path path) throws IOException {
+        return hash(path, false);
+    }
+
+    /**
+     * Hashes file
+     *
+     * @param path             file path
+     * @param keepChunkDigests true to return digest of each chunk
+     * @return file hash
+     * @throws IOException in reading
+     */
+    public FileHash hash(Path path, boolean keepChunkDigests) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int chunks = (int) ((size + chunkSize - 1) / chunkSize);
+            byte[][] leaves = new byte[chunks][];
+            if (parallelism == 1 || chunks <= 1) {
+                for (int i = 0; i < chunks; i++) {
+                    leaves[i] = hashChunk(channel, i, size);
+                }
+            } else {
+                hashInParallel(channel, leaves, size);
+            }
+            MessageDigest md = digests.get();
+            md.update(NODE);
+            for (byte[] leaf : leaves) {
+                md.update(leaf);
+            }
+            List<byte[]> chunkDigests = keepChunkDigests ? Arrays.asList(leaves) : Collections.emptyList();
+            return new FileHash(algorithm, chunkSize, size, md.digest(), chunkDigests);
+        }
+    }
+
+    private void hashInParallel(FileChannel channel, byte[][] leaves, long size) throws IOException {
+        try {
+            pool().invoke(new ChunkTask(channel, leaves, size, 0, leaves.length));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // created on first parallel hash so hashers used for small files hold no threads
+    private ForkJoinPool pool() {
+        if (pool == null) {
+            synchronized (this) {
+                if (pool == null) {
+                    pool = new ForkJoinPool(parallelism);
+                }
+            }
+        }
+        return pool;
+    }
+
+    private byte[] hashChunk(FileChannel channel, int idx, long size) throws IOException {
+        long start = (long) idx * chunkSize;
+        long len = Math.min(chunkSize, size - start);
+        MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, start, len);
+        MessageDigest md = digests.get();
+        md.update(LEAF);
+        md.update(buf);
+        return md.digest();
+    }
+
+    private static MessageDigest newDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new AppException("Digest algorithm " + algorithm + " not available", e);
+        }
+    }
+
+    // splits chunk range in halves down to single chunks
+    private final class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient FileChannel channel;
+        private final byte[][] leaves;
+        private final long size;
+        private final int from, to;
+
+        ChunkTask(FileChannel channel, byte[][] leaves, long size, int from, int to) {
+            this.channel = channel;
+            this.leaves = leaves;
+            this.size = size;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (to > from) {
+                    try {
+                        leaves[from] = hashChunk(channel, from, size);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkTask(channel, leaves, size, from, mid), new ChunkTask(channel, leaves, size, mid, to));
+        }
+    }
+
+    /**
+     * Tree hash of a file with optional chunk digests
+     */
+    public static final class FileHash {
+        private final String algorithm;
+        private final int chunkSize;
+        private final long size;
+        private final byte[] root;
+        private final List<byte[]> chunkDigests;
+
+        private FileHash(String algorithm, int chunkSize, long size, byte[] root, List<byte[]> chunkDigests) {
+            this.algorithm = algorithm;
+            this.chunkSize = chunkSize;
+            this.size = size;
+            this.root = root;
+            this.chunkDigests = Collections.unmodifiableList(new ArrayList<>(chunkDigests));
+        }
+
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public byte[] getRoot() {
+            return root.clone();
+        }
+
+        public String getRootHex() {
+            return toHex(root);
+        }
+
+        /**
+         * Empty unless hashed with keepChunkDigests
+         *
+         * @return digest per chunk in file order
+         */
+        public List<byte[]> getChunkDigests() {
+            return chunkDigests;
+        }
+
+        /**
+         * Returns indexes of chunks that differ from other hash
+         * of same algorithm and chunk size.  Chunks present in only
+         * one of the files are included.
+         *
+         * @param other hash with chunk digests
+         * @return chunk indexes
+         */
+        public List<Integer> changedChunks(FileHash other) {
+            if (!algorithm.equals(other.algorithm) || chunkSize != other.chunkSize) {
+                throw new AppException("Hashes of different algorithm or chunk size can not be compared");
+            }
+            List<Integer> changed = new ArrayList<>();
+            int max = Math.max(chunkDigests.size(), other.chunkDigests.size());
+            for (int i = 0; i < max; i++) {
+                if (i >= chunkDigests.size() || i >= other.chunkDigests.size()
+                        || !MessageDigest.isEqual(chunkDigests.get(i), other.chunkDigests.get(i))) {
+                    changed.add(i);
+                }
+            }
+            return changed;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof FileHash)) {
+                return false;
+            }
+            FileHash h = (FileHash) o;
+            return size == h.size && chunkSize == h.chunkSize
+                    && algorithm.equals(h.algorithm) && Arrays.equals(root, h.root);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(root);
+        }
+
+        @Override
+        public String toString() {
+            return algorithm + ":" + getRootHex();
+        }
+
+        private static String toHex(byte[] bytes) {
+            StringBuilder sb = new StringBuilder(bytes.length * 2);
+            for (byte b : bytes) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        }
+    }
+}
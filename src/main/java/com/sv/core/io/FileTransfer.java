@@ -0,0 +1,192 @@
+package com.sv.core.io;
+
+import com.sv.core.ProgressListener;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Copy, append, concatenate and move of files using
+ * `FileChannel.transferTo` so OS can copy without bringing data
+ * into java heap.  Where zero copy transfers nothing, remaining data
+ * is copied through a direct buffer.
+ */
+public final class FileTransfer {
+
+    private FileTransfer() {
+    }
+
+    private static final long CHUNK_SIZE = 8L * 1024 * 1024;
+    private static final int BUFFER_SIZE = 1024 * 1024;
+    private static final ProgressListener NO_PROGRESS = (done, total) -> {
+    };
+
+    public static long copy(Path src, Path dest) throws IOException {
+        return copy(src, dest, NO_PROGRESS);
+    }
+
+    /**
+     * Copies src to dest replacing content of dest
+     *
+     * @param src      source file
+     * @param dest     target file
+     * @param listener called after each chunk with bytes copied
+     * @return bytes copied
+     * @throws IOException in copying, or if src and dest are same file
+     */
+    public static long copy(Path src, Path dest, ProgressListener listener) throws IOException {
+        if (isSameFile(src, dest)) {
+            // truncating dest would wipe src
+            throw new IOException("Source and target are same file " + dest);
+        }
+        try (FileChannel in = FileChannel.open(src, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(dest, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long size = in.size();
+            return transfer(in, out, 0, size, listener);
+        }
+    }
+
+    /**
+     * Appends content of src at end of dest, dest is created if needed
+     *
+     * @param src      source file
+     * @param dest     target file
+     * @param listener called after each chunk with bytes appended
+     * @return bytes appended
+     * @throws IOException in copying
+     */
+    public static long append(Path src, Path dest, ProgressListener listener) throws IOException {
+        try (FileChannel in = FileChannel.open(src, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(dest, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            return transfer(in, out, 0, in.size(), listener);
+        }
+    }
+
+    /**
+     * Writes all sources one after other in dest replacing its content.
+     * If dest is also a source, output is written to a temp file next
+     * to dest that then replaces it.
+     *
+     * @param sources  files to join in order
+     * @param dest     target file
+     * @param listener called after each chunk with bytes written of all sources
+     * @return bytes written
+     * @throws IOException in copying
+     */
+    public static long concatenate(List<Path> sources, Path dest, ProgressListener listener) throws IOException {
+        if (listener == null) {
+            listener = NO_PROGRESS;
+        }
+        long total = 0;
+        boolean destIsSource = false;
+        for (Path p : sources) {
+            total += Files.size(p);
+            destIsSource |= isSameFile(p, dest);
+        }
+        if (!destIsSource) {
+            return concatenate(sources, dest, total, listener);
+        }
+        Path dir = dest.toAbsolutePath().getParent();
+        Path tmp = Files.createTempFile(dir, dest.getFileName().toString(), ".tmp");
+        try {
+            long done = concatenate(sources, tmp, total, listener);
+            Files.move(tmp, dest, StandardCopyOption.REPLACE_EXISTING);
+            return done;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static long concatenate(List<Path> sources, Path dest, long total,
+                                    ProgressListener listener) throws IOException {
+        long done = 0;
+        try (FileChannel out = FileChannel.open(dest, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (Path p : sources) {
+                try (FileChannel in = FileChannel.open(p, StandardOpenOption.READ)) {
+                    long base = done, all = total;
+                    done += transfer(in, out, 0, in.size(), (d, t) -> listener.onProgress(base + d, all));
+                }
+            }
+        }
+        return done;
+    }
+
+    /**
+     * Moves src to dest replacing dest.  A rename is tried first,
+     * across file systems data is copied with progress and src deleted.
+     *
+     * @param src      source file
+     * @param dest     target file
+     * @param listener called while data is copied
+     * @return bytes moved
+     * @throws IOException in moving
+     */
+    public static long move(Path src, Path dest, ProgressListener listener) throws IOException {
+        long size = Files.size(src);
+        try {
+            Files.move(src, dest, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            listener.onProgress(size, size);
+            return size;
+        } catch (AtomicMoveNotSupportedException e) {
+            long copied = copy(src, dest, listener);
+            Files.delete(src);
+            return copied;
+        }
+    }
+
+    private static boolean isSameFile(Path src, Path dest) throws IOException {
+        return Files.exists(dest) && Files.isSameFile(src, dest);
+    }
+
+    private static long transfer(FileChannel in, FileChannel out, long position, long count,
+                                 ProgressListener listener) throws IOException {
+        long done = 0;
+        while (done < count) {
+            long n;
+            try {
+                n = in.transferTo(position + done, Math.min(CHUNK_SIZE, count - done), out);
+            } catch (IOException e) {
+                // some file systems do not support it, copy rest with buffer
+                n = 0;
+            }
+            if (n <= 0) {
+                return done + copyWithBuffer(in, out, position + done, count - done, done, count, listener);
+            }
+            done += n;
+            listener.onProgress(done, count);
+        }
+        return done;
+    }
+
+    private static long copyWithBuffer(FileChannel in, FileChannel out, long position, long count,
+                                       long doneBefore, long total, ProgressListener listener) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        long done = 0;
+        while (done < count) {
+            buf.clear();
+            if (count - done < BUFFER_SIZE) {
+                buf.limit((int) (count - done));
+            }
+            int read = in.read(buf, position + done);
+            if (read < 0) {
+                break;
+            }
+            buf.flip();
+            while (buf.hasRemaining()) {
+                out.write(buf);
+            }
+            done += read;
+            listener.onProgress(doneBefore + done, total);
+        }
+        return done;
+    }
+}
@@ -0,0 +1,286 @@
+package com.sv.core.io;
+
+import com.sv.core.Utils;
+import com.sv.core.logger.MyLogger;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+
+/**
+ * Recursive directory walker that lists sub directories in parallel
+ * on a fork join pool.  Attributes of each entry are read once and
+ * matching entries are passed to consumer as soon as they are found.
+ * {@link #walkWhile(Path, BiPredicate)} can stop the walk early.
+ * <p>
+ * With parallelism more than 1 consumer is called from many threads.
+ */
+public final class FileWalker {
+
+    private static final LinkOption[] NO_FOLLOW = {LinkOption.NOFOLLOW_LINKS};
+    private static final LinkOption[] FOLLOW = {};
+
+    private final int maxDepth, parallelism;
+    private final PathMatcher glob;
+    private final Set<String> extensions;
+    private final boolean includeDirs;
+    private final LinkOption[] linkOptions;
+    private final MyLogger logger;
+
+    private FileWalker(Builder b) {
+        this.maxDepth = b.maxDepth;
+        this.parallelism = b.parallelism;
+        this.glob = b.glob;
+        this.extensions = b.extensions.isEmpty() ? null : new HashSet<>(b.extensions);
+        this.includeDirs = b.includeDirs;
+        this.linkOptions = b.followLinks ? FOLLOW : NO_FOLLOW;
+        this.logger = b.logger;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Walks the tree under root, root itself is not passed to consumer
+     *
+     * @param root     directory to start
+     * @param consumer receives matching paths with their attributes
+     * @return number of entries passed to consumer
+     */
+    public long walk(Path root, BiConsumer<Path, BasicFileAttributes> consumer) {
+        return walkWhile(root, (p, attrs) -> {
+            consumer.accept(p, attrs);
+            return true;
+        });
+    }
+
+    /**
+     * Walks the tree under root till visitor returns false.  Directories
+     * not yet listed are then skipped, with parallelism entries already
+     * being listed by other threads can still be passed to visitor.
+     *
+     * @param root    directory to start
+     * @param visitor receives matching paths with their attributes,
+     *                returns false to stop walking
+     * @return number of entries passed to visitor
+     */
+    public long walkWhile(Path root, BiPredicate<Path, BasicFileAttributes> visitor) {
+        LongAdder count = new LongAdder();
+        AtomicBoolean stopped = new AtomicBoolean();
+        Set<Object> visited = linkOptions == FOLLOW ? ConcurrentHashMap.newKeySet() : null;
+        if (visited != null) {
+            try {
+                Object key = Files.readAttributes(root, BasicFileAttributes.class).fileKey();
+                if (key != null) {
+                    visited.add(key);
+                }
+            } catch (IOException e) {
+                // reported when root is listed
+            }
+        }
+        DirTask task = new DirTask(root, 1, visitor, count, visited, stopped);
+        if (parallelism <= 1) {
+            task.compute();
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.invoke(task);
+            } finally {
+                pool.shutdown();
+            }
+        }
+        return count.sum();
+    }
+
+    private boolean matches(Path p) {
+        Path name = p.getFileName();
+        if (name == null) {
+            return false;
+        }
+        if (glob != null && !glob.matches(name)) {
+            return false;
+        }
+        if (extensions != null) {
+            String n = name.toString();
+            int dot = n.lastIndexOf('.');
+            return dot >= 0 && extensions.contains(n.substring(dot + 1).toLowerCase(Locale.ROOT));
+        }
+        return true;
+    }
+
+    private final class DirTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Path dir;
+        private final int depth;
+        private final BiPredicate<Path, BasicFileAttributes> visitor;
+        private final LongAdder count;
+        // directory keys seen when following links, to stop at cycles
+        private final Set<Object> visited;
+        private final AtomicBoolean stopped;
+
+        DirTask(Path dir, int depth, BiPredicate<Path, BasicFileAttributes> visitor,
+                LongAdder count, Set<Object> visited, AtomicBoolean stopped) {
+            this.dir = dir;
+            this.depth = depth;
+            this.visitor = visitor;
+            this.count = count;
+            this.visited = visited;
+            this.stopped = stopped;
+        }
+
+        @Override
+        protected void compute() {
+            List<DirTask> subTasks = new ArrayList<>();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+                for (Path p : entries) {
+                    if (stopped.get()) {
+                        break;
+                    }
+                    BasicFileAttributes attrs;
+                    try {
+                        attrs = Files.readAttributes(p, BasicFileAttributes.class, linkOptions);
+                    } catch (IOException e) {
+                        logError(p, e);
+                        continue;
+                    }
+                    if (attrs.isDirectory()) {
+                        if (includeDirs && matches(p)) {
+                            accept(p, attrs);
+                        }
+                        if (depth < maxDepth && firstVisit(attrs)) {
+                            DirTask t = new DirTask(p, depth + 1, visitor, count, visited, stopped);
+                            if (parallelism <= 1) {
+                                t.compute();
+                            } else {
+                                subTasks.add(t);
+                                t.fork();
+                            }
+                        }
+                    } else if (attrs.isRegularFile() && matches(p)) {
+                        accept(p, attrs);
+                    }
+                }
+            } catch (IOException e) {
+                logError(dir, e);
+            }
+            for (DirTask t : subTasks) {
+                t.join();
+            }
+        }
+
+        private boolean firstVisit(BasicFileAttributes attrs) {
+            Object key = attrs.fileKey();
+            return visited == null || key == null || visited.add(key);
+        }
+
+        private void accept(Path p, BasicFileAttributes attrs) {
+            count.increment();
+            if (!visitor.test(p, attrs)) {
+                stopped.set(true);
+            }
+        }
+
+        private void logError(Path p, IOException e) {
+            if (logger != null) {
+                logger.warn("Unable to read " + Utils.addBraces(p.toString()) + ": " + e.getMessage());
+            }
+        }
+    }
+
+    public static final class Builder {
+
+        private int maxDepth = Integer.MAX_VALUE;
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private PathMatcher glob;
+        private final Set<String> extensions = new HashSet<>();
+        private boolean includeDirs, followLinks;
+        private MyLogger logger;
+
+        private Builder() {
+        }
+
+        /**
+         * Depth 1 means only entries of root
+         *
+         * @param maxDepth levels to go down
+         * @return this builder
+         */
+        public Builder maxDepth(int maxDepth) {
+            this.maxDepth = Math.max(maxDepth, 0);
+            return this;
+        }
+
+        /**
+         * Threads to list directories, 1 walks on calling thread
+         *
+         * @param parallelism thread count
+         * @return this builder
+         */
+        public Builder parallelism(int parallelism) {
+            this.parallelism = Math.max(parallelism, 1);
+            return this;
+        }
+
+        /**
+         * Glob to match against file name, like <pre>*.{java,xml}</pre>
+         *
+         * @param pattern glob pattern
+         * @return this builder
+         */
+        public Builder glob(String pattern) {
+            this.glob = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+            return this;
+        }
+
+        /**
+         * File name extensions to match, without dot and not case-sensitive
+         *
+         * @param ext extensions like "log", "txt"
+         * @return this builder
+         */
+        public Builder extensions(String... ext) {
+            for (String e : ext) {
+                extensions.add(e.toLowerCase(Locale.ROOT));
+            }
+            return this;
+        }
+
+        public Builder includeDirs(boolean includeDirs) {
+            this.includeDirs = includeDirs;
+            return this;
+        }
+
+        public Builder followLinks(boolean followLinks) {
+            this.followLinks = followLinks;
+            return this;
+        }
+
+        public Builder logger(MyLogger logger) {
+            this.logger = logger;
+            return this;
+        }
+
+        public FileWalker build() {
+            return new FileWalker(this);
+        }
+    }
+}
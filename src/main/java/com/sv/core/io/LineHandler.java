@@ -0,0 +1,20 @@
+package com.sv.core.io;
+
+/**
+ * Receives lines one by one.  Line object may be reused for next
+ * line so keep its content by calling `toString()`.
+ *
+ * @param <T> type of line view
+ */
+@FunctionalInterface
+public interface LineHandler<T> {
+
+    /**
+     * Called for each line
+     *
+     * @param line       line without line break
+     * @param lineNumber starts from 1
+     * @return false to stop reading
+     */
+    boolean onLine(T line, long lineNumber);
+}
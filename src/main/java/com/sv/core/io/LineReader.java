@@ -0,0 +1,216 @@
+package com.sv.core.io;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+/**
+ * Streaming line reading that never holds the whole file.
+ * Line breaks are \n, \r or \r\n like `BufferedReader.readLine()`.
+ */
+public final class LineReader {
+
+    private LineReader() {
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Returns lazy stream of lines, must be closed
+     * for example with try-with-resources
+     *
+     * @param path    file path
+     * @param charset to decode
+     * @return stream of lines
+     * @throws IOException if file can not be opened
+     */
+    public static Stream<String> lines(Path path, Charset charset) throws IOException {
+        return Files.lines(path, charset);
+    }
+
+    /**
+     * Returns iterator of lines that must be closed
+     *
+     * @param path    file path
+     * @param charset to decode
+     * @return line iterator
+     * @throws IOException if file can not be opened
+     */
+    public static LineIterator iterator(Path path, Charset charset) throws IOException {
+        return new LineIterator(Files.newBufferedReader(path, charset));
+    }
+
+    /**
+     * Passes each line to handler as a reused CharSequence view,
+     * no String is created for a line unless handler asks for it.
+     *
+     * @param path    file path
+     * @param charset to decode
+     * @param handler line callback
+     * @return number of lines passed to handler
+     * @throws IOException in reading
+     */
+    public static long forEachLine(Path path, Charset charset, LineHandler<CharSequence> handler) throws IOException {
+        try (Reader reader = Files.newBufferedReader(path, charset)) {
+            return forEachLine(reader, handler);
+        }
+    }
+
+    /**
+     * Passes each line of stream to handler as soon as it is read,
+     * so output of a running process is seen live.  Stream is not closed.
+     *
+     * @param stream  source
+     * @param charset to decode
+     * @param handler line callback
+     * @return number of lines passed to handler
+     * @throws IOException in reading
+     */
+    public static long forEachLine(InputStream stream, Charset charset, LineHandler<CharSequence> handler) throws IOException {
+        return forEachLine(new InputStreamReader(stream, charset), handler);
+    }
+
+    /**
+     * Passes each line of reader to handler, reader is not closed
+     *
+     * @param reader  source
+     * @param handler line callback
+     * @return number of lines passed to handler
+     * @throws IOException in reading
+     */
+    public static long forEachLine(Reader reader, LineHandler<CharSequence> handler) throws IOException {
+        char[] buf = new char[BUFFER_SIZE];
+        CharArrayView view = new CharArrayView(buf);
+        // holds a line split across two reads
+        StringBuilder pending = new StringBuilder();
+        boolean skipLf = false;
+        long lineNo = 0;
+        int read;
+        while ((read = reader.read(buf)) != -1) {
+            int start = 0;
+            for (int i = 0; i < read; i++) {
+                char c = buf[i];
+                if (c != '\n' && c != '\r') {
+                    continue;
+                }
+                if (skipLf && c == '\n' && i == start) {
+                    skipLf = false;
+                    start = i + 1;
+                    continue;
+                }
+                skipLf = c == '\r';
+                CharSequence line;
+                if (pending.length() > 0) {
+                    line = pending.append(buf, start, i - start);
+                } else {
+                    line = view.set(start, i - start);
+                }
+                if (!handler.onLine(line, ++lineNo)) {
+                    return lineNo;
+                }
+                pending.setLength(0);
+                start = i + 1;
+            }
+            if (start < read) {
+                skipLf = false;
+                pending.append(buf, start, read - start);
+            }
+        }
+        if (pending.length() > 0) {
+            handler.onLine(pending, ++lineNo);
+        }
+        return lineNo;
+    }
+
+    /**
+     * Line iterator over a reader, closing it closes the reader
+     */
+    public static final class LineIterator implements Iterator<String>, Closeable {
+
+        private final BufferedReader reader;
+        private String next;
+        private boolean done;
+
+        private LineIterator(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                try {
+                    next = reader.readLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                done = next == null;
+            }
+            return next != null;
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String line = next;
+            next = null;
+            return line;
+        }
+
+        @Override
+        public void close() throws IOException {
+            done = true;
+            reader.close();
+        }
+    }
+
+    private static final class CharArrayView implements CharSequence {
+
+        private final char[] buf;
+        private int offset, length;
+
+        CharArrayView(char[] buf) {
+            this.buf = buf;
+        }
+
+        CharArrayView set(int offset, int length) {
+            this.offset = offset;
+            this.length = length;
+            return this;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+            }
+            return buf[offset + index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new String(buf, offset + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(buf, offset, length);
+        }
+    }
+}
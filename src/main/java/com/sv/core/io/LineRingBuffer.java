@@ -0,0 +1,97 @@
+package com.sv.core.io;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps only the last N lines passed to it, older lines are
+ * overwritten.  Can be used directly as a {@link LineHandler}.
+ * <p>
+ * Methods are synchronized so lines can be added from a stream
+ * thread while another thread reads them.
+ */
+public final class LineRingBuffer implements LineHandler<CharSequence> {
+
+    private final String[] lines;
+    private int next;
+    private long total;
+
+    /**
+     * Creates buffer
+     *
+     * @param capacity number of lines to keep
+     */
+    public LineRingBuffer(int capacity) {
+        this.lines = new String[Math.max(capacity, 1)];
+    }
+
+    public synchronized void add(CharSequence line) {
+        lines[next] = line.toString();
+        next = (next + 1) % lines.length;
+        total++;
+    }
+
+    @Override
+    public boolean onLine(CharSequence line, long lineNumber) {
+        add(line);
+        return true;
+    }
+
+    public int capacity() {
+        return lines.length;
+    }
+
+    public synchronized int size() {
+        return (int) Math.min(total, lines.length);
+    }
+
+    /**
+     * Lines added since creation or last clear, including overwritten ones
+     *
+     * @return count
+     */
+    public synchronized long getTotal() {
+        return total;
+    }
+
+    public synchronized boolean isTruncated() {
+        return total > lines.length;
+    }
+
+    /**
+     * Returns kept lines, oldest first
+     *
+     * @return lines
+     */
+    public synchronized List<String> getLines() {
+        int size = size();
+        List<String> list = new ArrayList<>(size);
+        int start = size < lines.length ? 0 : next;
+        for (int i = 0; i < size; i++) {
+            list.add(lines[(start + i) % lines.length]);
+        }
+        return list;
+    }
+
+    public synchronized void clear() {
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = null;
+        }
+        next = 0;
+        total = 0;
+    }
+
+    /**
+     * Kept lines, oldest first, each followed by \n
+     *
+     * @return text
+     */
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (String l : getLines()) {
+            sb.append(l).append('\n');
+        }
+        return sb.toString();
+    }
+}
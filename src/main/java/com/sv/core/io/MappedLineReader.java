@@ -0,0 +1,176 @@
+package com.sv.core.io;
+
+import com.sv.core.Utils;
+import com.sv.core.exception.AppException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads lines of large files by memory mapping them region by region.
+ * Line boundaries are found in mapped bytes and a String is created
+ * only when handler calls {@link MappedLine#toString()}.
+ * <p>
+ * Charset must encode \n and \r as single bytes, like UTF-8 or
+ * ISO-8859-1.  Lines end at \n, a \r just before it is removed.
+ */
+public final class MappedLineReader {
+
+    private MappedLineReader() {
+    }
+
+    public static final long DEFAULT_REGION_SIZE = 256L * 1024 * 1024;
+
+    private static final byte LF = '\n';
+    private static final byte CR = '\r';
+
+    public static long forEachLine(Path path, Charset charset, LineHandler<MappedLine> handler) throws IOException {
+        return forEachLine(path, charset, handler, DEFAULT_REGION_SIZE);
+    }
+
+    /**
+     * Passes each line to handler as a reused view over mapped bytes
+     *
+     * @param path       file path
+     * @param charset    to decode on demand
+     * @param handler    line callback
+     * @param regionSize bytes mapped at a time, longest line must fit in it
+     * @return number of lines passed to handler
+     * @throws IOException in reading
+     */
+    public static long forEachLine(Path path, Charset charset, LineHandler<MappedLine> handler,
+                                   long regionSize) throws IOException {
+        checkCharset(charset);
+        regionSize = Math.min(Math.max(regionSize, 1), Integer.MAX_VALUE);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            MappedLine line = new MappedLine(charset);
+            long regionStart = 0, lineNo = 0;
+            while (regionStart < size) {
+                int len = (int) Math.min(regionSize, size - regionStart);
+                MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, regionStart, len);
+                boolean lastRegion = regionStart + len == size;
+                int start = 0;
+                for (int i = 0; i < len; i++) {
+                    if (buf.get(i) == LF) {
+                        line.set(buf, regionStart, start, i);
+                        if (!handler.onLine(line, ++lineNo)) {
+                            return lineNo;
+                        }
+                        start = i + 1;
+                    }
+                }
+                if (start < len && lastRegion) {
+                    line.set(buf, regionStart, start, len);
+                    handler.onLine(line, ++lineNo);
+                    return lineNo;
+                }
+                if (start == 0 && !lastRegion) {
+                    throw new AppException("Line at offset " + regionStart + " of "
+                            + Utils.addBraces(path.toString()) + " is longer than region size " + regionSize);
+                }
+                // next region begins with the line that did not end here
+                regionStart += start;
+            }
+            return lineNo;
+        }
+    }
+
+    private static void checkCharset(Charset charset) {
+        if (!Arrays.equals(new byte[]{LF, CR}, "\n\r".getBytes(charset))) {
+            throw new AppException("Charset " + Utils.addBraces(charset.name())
+                    + " is not supported for mapped reading, use LineReader");
+        }
+    }
+
+    /**
+     * View of one line inside a mapped region, reused for next line
+     */
+    public static final class MappedLine {
+
+        private final Charset charset;
+        private ByteBuffer buf;
+        private long fileOffset;
+        private int start, length;
+
+        private MappedLine(Charset charset) {
+            this.charset = charset;
+        }
+
+        private void set(ByteBuffer buf, long regionStart, int start, int end) {
+            if (end > start && buf.get(end - 1) == CR) {
+                end--;
+            }
+            this.buf = buf;
+            this.fileOffset = regionStart + start;
+            this.start = start;
+            this.length = end - start;
+        }
+
+        /**
+         * Offset of first byte of line in file
+         *
+         * @return offset
+         */
+        public long getOffset() {
+            return fileOffset;
+        }
+
+        /**
+         * Length in bytes, not in chars
+         *
+         * @return length
+         */
+        public int getLength() {
+            return length;
+        }
+
+        public byte byteAt(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+            }
+            return buf.get(start + index);
+        }
+
+        /**
+         * Copies bytes of line to array
+         *
+         * @param dest   target array
+         * @param offset index in target
+         * @return number of bytes copied
+         */
+        public int copyTo(byte[] dest, int offset) {
+            ByteBuffer dup = buf.duplicate();
+            dup.position(start);
+            dup.get(dest, offset, length);
+            return length;
+        }
+
+        /**
+         * Returns read only buffer of line bytes
+         *
+         * @return buffer from position 0 to length
+         */
+        public ByteBuffer asByteBuffer() {
+            ByteBuffer dup = buf.asReadOnlyBuffer();
+            dup.position(start).limit(start + length);
+            return dup.slice();
+        }
+
+        /**
+         * Decodes line with charset
+         *
+         * @return line as String
+         */
+        @Override
+        public String toString() {
+            return charset.decode(asByteBuffer()).toString();
+        }
+    }
+}
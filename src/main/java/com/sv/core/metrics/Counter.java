@@ -0,0 +1,33 @@
+package com.sv.core.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counter backed by striped `LongAdder` so
+ * many threads can increment without contention
+ */
+public final class Counter {
+
+    private final LongAdder adder = new LongAdder();
+
+    public void increment() {
+        adder.increment();
+    }
+
+    public void add(long n) {
+        adder.add(n);
+    }
+
+    public long getCount() {
+        return adder.sum();
+    }
+
+    public void reset() {
+        adder.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(getCount());
+    }
+}
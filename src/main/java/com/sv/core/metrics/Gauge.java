@@ -0,0 +1,24 @@
+package com.sv.core.metrics;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Gauge that reads its value from supplier when reported
+ */
+public final class Gauge {
+
+    private final LongSupplier supplier;
+
+    public Gauge(LongSupplier supplier) {
+        this.supplier = supplier;
+    }
+
+    public long getValue() {
+        return supplier.getAsLong();
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(getValue());
+    }
+}
@@ -0,0 +1,153 @@
+package com.sv.core.metrics;
+
+import com.sv.core.FormatUtils;
+import com.sv.core.logger.MyLogger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock free histogram of nano second durations with fixed memory.
+ * Values are kept in log buckets, each power of two is split in
+ * 16 sub buckets so a percentile is within ~6% of recorded value.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+    private static final long NANOS_IN_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a duration, negative values are recorded as 0
+     *
+     * @param nanos duration in nano seconds
+     */
+    public void record(long nanos) {
+        long v = Math.max(nanos, 0);
+        counts.incrementAndGet(bucketOf(v));
+        count.increment();
+        sum.add(v);
+        long m = max.get();
+        while (v > m && !max.compareAndSet(m, v)) {
+            m = max.get();
+        }
+    }
+
+    public void record(long duration, TimeUnit unit) {
+        record(unit.toNanos(duration));
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public long getMean() {
+        long c = count.sum();
+        return c == 0 ? 0 : sum.sum() / c;
+    }
+
+    /**
+     * Returns value at percentile, as highest value of its bucket
+     *
+     * @param percentile between 0 and 100 like 99.9
+     * @return nano seconds
+     */
+    public long getPercentile(double percentile) {
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * Math.min(percentile, 100) / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(highestValueOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Clears values.  Records happening at the same
+     * time may or may not be kept.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    /**
+     * Appends summary like <pre>count=10 mean=1.200ms p50=1.000ms p99=..</pre>
+     *
+     * @param sb to append
+     * @return same StringBuilder
+     */
+    public StringBuilder appendSummary(StringBuilder sb) {
+        sb.append("count=").append(getCount());
+        appendMillis(sb.append(" mean="), getMean());
+        appendMillis(sb.append(" p50="), getPercentile(50));
+        appendMillis(sb.append(" p99="), getPercentile(99));
+        appendMillis(sb.append(" p999="), getPercentile(99.9));
+        appendMillis(sb.append(" max="), getMax());
+        return sb;
+    }
+
+    /**
+     * Logs summary with name as info
+     *
+     * @param logger MyLogger object
+     * @param name   to identify histogram
+     */
+    public void report(MyLogger logger, String name) {
+        logger.info(appendSummary(new StringBuilder(name).append(' ')).toString());
+    }
+
+    @Override
+    public String toString() {
+        return appendSummary(new StringBuilder()).toString();
+    }
+
+    private static void appendMillis(StringBuilder sb, long nanos) {
+        FormatUtils.appendDecimal(sb, nanos, NANOS_IN_MILLI, 3).append("ms");
+    }
+
+    static int bucketOf(long v) {
+        if (v < SUB_BUCKETS) {
+            return (int) v;
+        }
+        int exp = Long.SIZE - 1 - Long.numberOfLeadingZeros(v);
+        int shift = exp - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((v >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket >>> SUB_BUCKET_BITS) - 1;
+        long base = (long) (SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1))) << shift;
+        return base + (1L << shift) - 1;
+    }
+}
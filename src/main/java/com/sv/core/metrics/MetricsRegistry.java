@@ -0,0 +1,126 @@
+package com.sv.core.metrics;
+
+import com.sv.core.Constants;
+import com.sv.core.Utils;
+import com.sv.core.exception.AppException;
+import com.sv.core.logger.MyLogger;
+
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * In process registry of counters, gauges and histograms by name.
+ * Look up a metric once and keep the reference, recording on it
+ * does not touch the registry.
+ */
+public final class MetricsRegistry {
+
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+    private final Map<String, Object> metrics = new ConcurrentHashMap<>();
+
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    public Counter counter(String name) {
+        return get(name, Counter.class);
+    }
+
+    public LatencyHistogram histogram(String name) {
+        return get(name, LatencyHistogram.class);
+    }
+
+    /**
+     * Registers gauge, replacing any gauge with same name
+     *
+     * @param name     metric name
+     * @param supplier to read value
+     * @return gauge
+     */
+    public Gauge gauge(String name, LongSupplier supplier) {
+        Gauge g = new Gauge(supplier);
+        // checked and replaced in one step so other metric types are never swapped out
+        metrics.compute(name, (n, old) -> {
+            if (old != null && !(old instanceof Gauge)) {
+                throw typeError(name, old, Gauge.class);
+            }
+            return g;
+        });
+        return g;
+    }
+
+    /**
+     * Starts a stopwatch that records in histogram of name when stopped
+     *
+     * @param name histogram name
+     * @return started stopwatch
+     */
+    public Stopwatch time(String name) {
+        return Stopwatch.start(histogram(name));
+    }
+
+    public boolean remove(String name) {
+        return metrics.remove(name) != null;
+    }
+
+    public void clear() {
+        metrics.clear();
+    }
+
+    /**
+     * Returns all metrics sorted by name, one per line
+     * like <pre>name value</pre>
+     *
+     * @return text snapshot
+     */
+    public String snapshot() {
+        StringBuilder sb = new StringBuilder();
+        new TreeMap<>(metrics).forEach((name, m) -> {
+            sb.append(name).append(Constants.SPACE);
+            if (m instanceof LatencyHistogram) {
+                ((LatencyHistogram) m).appendSummary(sb);
+            } else {
+                sb.append(m);
+            }
+            sb.append(Constants.LN_BRK);
+        });
+        return sb.toString();
+    }
+
+    public void logSnapshot(MyLogger logger) {
+        logger.info("Metrics snapshot" + Constants.LN_BRK + snapshot());
+    }
+
+    /**
+     * Writes snapshot to file replacing old content
+     *
+     * @param path   file path
+     * @param logger MyLogger object
+     * @return true if success
+     */
+    public boolean writeSnapshot(String path, MyLogger logger) {
+        return Utils.writeFile(path, snapshot(), logger, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+
+    private <T> T get(String name, Class<T> type) {
+        Object m = metrics.computeIfAbsent(name, n -> create(type));
+        if (!type.isInstance(m)) {
+            throw typeError(name, m, type);
+        }
+        return type.cast(m);
+    }
+
+    private static Object create(Class<?> type) {
+        return type == Counter.class ? new Counter() : new LatencyHistogram();
+    }
+
+    private static AppException typeError(String name, Object m, Class<?> type) {
+        return new AppException("Metric " + Utils.addBraces(name) + " is "
+                + m.getClass().getSimpleName() + " not " + type.getSimpleName());
+    }
+}
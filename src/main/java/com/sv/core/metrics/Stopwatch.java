@@ -0,0 +1,145 @@
+package com.sv.core.metrics;
+
+import com.sv.core.FormatUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monotonic stopwatch based on `System.nanoTime()`, not affected
+ * by changes to wall clock.  Final time and laps can be recorded in
+ * separate {@link LatencyHistogram}s, so percentiles of each stay
+ * meaningful.  An instance is meant for one thread.
+ */
+public final class Stopwatch {
+
+    private static final long NANOS_IN_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final LatencyHistogram histogram, lapHistogram;
+    private long startNanos, lapNanos, stopNanos;
+    private boolean running;
+
+    private Stopwatch(LatencyHistogram histogram, LatencyHistogram lapHistogram) {
+        this.histogram = histogram;
+        this.lapHistogram = lapHistogram;
+        restart();
+    }
+
+    public static Stopwatch start() {
+        return new Stopwatch(null, null);
+    }
+
+    /**
+     * Starts stopwatch that records stop time in histogram
+     *
+     * @param histogram to record total durations
+     * @return started stopwatch
+     */
+    public static Stopwatch start(LatencyHistogram histogram) {
+        return new Stopwatch(histogram, null);
+    }
+
+    /**
+     * Starts stopwatch that records stop time and lap times in
+     * different histograms
+     *
+     * @param histogram    to record total durations, can be null
+     * @param lapHistogram to record lap durations, can be null
+     * @return started stopwatch
+     */
+    public static Stopwatch start(LatencyHistogram histogram, LatencyHistogram lapHistogram) {
+        return new Stopwatch(histogram, lapHistogram);
+    }
+
+    /**
+     * Resets and starts again
+     *
+     * @return this stopwatch
+     */
+    public Stopwatch restart() {
+        startNanos = System.nanoTime();
+        lapNanos = startNanos;
+        running = true;
+        return this;
+    }
+
+    /**
+     * Returns time since last lap, or start, and begins next lap.
+     * Lap time is recorded in lap histogram if present.
+     *
+     * @return lap time in nano seconds
+     */
+    public long lap() {
+        long now = System.nanoTime();
+        long lap = now - lapNanos;
+        lapNanos = now;
+        if (lapHistogram != null) {
+            lapHistogram.record(lap);
+        }
+        return lap;
+    }
+
+    /**
+     * Returns time since start without ending lap
+     *
+     * @return split time in nano seconds
+     */
+    public long split() {
+        return elapsedNanos();
+    }
+
+    /**
+     * Stops and records total time in histogram if present.
+     * Has no effect if already stopped.
+     *
+     * @return elapsed nano seconds
+     */
+    public long stop() {
+        if (running) {
+            stopNanos = System.nanoTime();
+            running = false;
+            if (histogram != null) {
+                histogram.record(stopNanos - startNanos);
+            }
+        }
+        return elapsedNanos();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public long elapsedNanos() {
+        return (running ? System.nanoTime() : stopNanos) - startNanos;
+    }
+
+    public long elapsed(TimeUnit unit) {
+        return unit.convert(elapsedNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    public long elapsedMillis() {
+        return elapsed(TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Elapsed time in format like "[2.345 sec]" or "2.345 sec"
+     *
+     * @param addBraces if to add long braces
+     * @return string as in example
+     */
+    public String elapsedSecMilliStr(boolean addBraces) {
+        StringBuilder sb = new StringBuilder(16);
+        if (addBraces) {
+            sb.append('[');
+        }
+        FormatUtils.appendSecMilli(sb, elapsedNanos() / NANOS_IN_MILLI).append(" sec");
+        if (addBraces) {
+            sb.append(']');
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return elapsedSecMilliStr(true);
+    }
+}
@@ -0,0 +1,183 @@
+package com.sv.core.process;
+
+import com.sv.core.logger.MyLogger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a list of commands with bounded concurrency.  Each command
+ * takes a worker of a fixed pool till its process ends, so at most
+ * `concurrency` processes run at a time.  Output lines are streamed
+ * to a listener as they arrive and a {@link BatchReport} is built when
+ * all commands finish.
+ * <p>
+ * Cancelling the returned future skips pending commands and kills running ones.
+ */
+public final class BatchCommandRunner {
+
+    private static final AtomicInteger POOL_ID = new AtomicInteger();
+
+    /**
+     * Receives output lines of a command.  Called from stream
+     * threads of many commands at the same time.
+     */
+    @FunctionalInterface
+    public interface OutputListener {
+        void onLine(int commandIndex, ProcessRunner.StreamType stream, String line);
+    }
+
+    private final ProcessRunner runner;
+    private final int concurrency;
+    private final OutputListener listener;
+    private final MyLogger logger;
+
+    private BatchCommandRunner(Builder b) {
+        this.runner = b.runner;
+        this.concurrency = b.concurrency;
+        this.listener = b.listener;
+        this.logger = b.logger;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Runs command lines, each split with {@link ProcessRunner#tokenize(String)}
+     *
+     * @param commandLines commands to run
+     * @return future of report
+     */
+    public CompletableFuture<BatchReport> submitLines(List<String> commandLines) {
+        List<List<String>> commands = new ArrayList<>(commandLines.size());
+        for (String c : commandLines) {
+            commands.add(ProcessRunner.tokenize(c));
+        }
+        return submit(commands);
+    }
+
+    /**
+     * Starts running commands and returns without waiting.  A command
+     * that could not be started gets exit code -1 and reason as error.
+     *
+     * @param commands program and arguments of each command
+     * @return future of report with results in order of commands
+     */
+    public CompletableFuture<BatchReport> submit(List<List<String>> commands) {
+        int n = commands.size();
+        long start = System.nanoTime();
+        ProcessResult[] results = new ProcessResult[n];
+        Queue<CompletableFuture<ProcessResult>> running = new ConcurrentLinkedQueue<>();
+        ExecutorService pool = newPool(Math.max(Math.min(concurrency, n), 1));
+        CompletableFuture<BatchReport> report = new CompletableFuture<>();
+
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[n];
+        for (int i = 0; i < n; i++) {
+            int idx = i;
+            List<String> cmd = commands.get(i);
+            tasks[i] = CompletableFuture.runAsync(() -> {
+                if (report.isDone()) {
+                    return;
+                }
+                ProcessRunner.LineListener l = listener == null ? null : (s, line) -> listener.onLine(idx, s, line);
+                CompletableFuture<ProcessResult> f;
+                try {
+                    f = runner.execute(cmd, l);
+                } catch (RuntimeException e) {
+                    results[idx] = ProcessResult.failed(cmd, e);
+                    return;
+                }
+                running.add(f);
+                if (report.isCancelled()) {
+                    // cancelled while this command was starting
+                    f.cancel(true);
+                }
+                results[idx] = f.handle((r, e) -> r != null ? r : ProcessResult.failed(cmd, e)).join();
+                running.remove(f);
+            }, pool);
+        }
+
+        CompletableFuture.allOf(tasks).whenComplete((v, e) -> {
+            List<ProcessResult> list = new ArrayList<>(n);
+            Collections.addAll(list, results);
+            BatchReport r = new BatchReport(list, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            if (logger != null) {
+                logger.info(r.getSummary());
+            }
+            report.complete(r);
+        });
+        report.whenComplete((r, e) -> {
+            pool.shutdown();
+            if (report.isCancelled()) {
+                running.forEach(f -> f.cancel(true));
+            }
+        });
+        return report;
+    }
+
+    private static ExecutorService newPool(int threads) {
+        int id = POOL_ID.incrementAndGet();
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "batch-command-" + id + "-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public static final class Builder {
+        private ProcessRunner runner = ProcessRunner.builder().maxOutputChars(0).build();
+        private int concurrency = Runtime.getRuntime().availableProcessors();
+        private OutputListener listener;
+        private MyLogger logger;
+
+        private Builder() {
+        }
+
+        /**
+         * Runner whose options, like timeout and captured output
+         * size, apply to every command.  Default captures no output.
+         *
+         * @param runner process runner
+         * @return this builder
+         */
+        public Builder runner(ProcessRunner runner) {
+            this.runner = runner;
+            return this;
+        }
+
+        /**
+         * Maximum processes running at a time, default is number of processors
+         *
+         * @param concurrency limit
+         * @return this builder
+         */
+        public Builder concurrency(int concurrency) {
+            this.concurrency = Math.max(concurrency, 1);
+            return this;
+        }
+
+        public Builder listener(OutputListener listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        public Builder logger(MyLogger logger) {
+            this.logger = logger;
+            return this;
+        }
+
+        public BatchCommandRunner build() {
+            return new BatchCommandRunner(this);
+        }
+    }
+}
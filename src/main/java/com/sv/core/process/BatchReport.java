@@ -0,0 +1,109 @@
+package com.sv.core.process;
+
+import com.sv.core.FormatUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Results of commands run by {@link BatchCommandRunner}, in order of commands
+ */
+public final class BatchReport {
+
+    private final List<ProcessResult> results;
+    private final long totalMillis;
+
+    BatchReport(List<ProcessResult> results, long totalMillis) {
+        this.results = Collections.unmodifiableList(results);
+        this.totalMillis = totalMillis;
+    }
+
+    /**
+     * Result of each command, null for commands skipped after cancel
+     *
+     * @return results
+     */
+    public List<ProcessResult> getResults() {
+        return results;
+    }
+
+    public ProcessResult getResult(int commandIndex) {
+        return results.get(commandIndex);
+    }
+
+    /**
+     * Wall clock time of whole batch
+     *
+     * @return milli seconds
+     */
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    /**
+     * Sum of durations of all commands
+     *
+     * @return milli seconds
+     */
+    public long getCommandMillis() {
+        long sum = 0;
+        for (ProcessResult r : results) {
+            if (r != null) {
+                sum += r.getDurationMillis();
+            }
+        }
+        return sum;
+    }
+
+    public int getSuccessCount() {
+        int n = 0;
+        for (ProcessResult r : results) {
+            if (r != null && r.isSuccess()) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Commands that failed to start, timed out or gave non zero exit code
+     *
+     * @return failed results
+     */
+    public List<ProcessResult> getFailures() {
+        List<ProcessResult> failed = new ArrayList<>();
+        for (ProcessResult r : results) {
+            if (r != null && !r.isSuccess()) {
+                failed.add(r);
+            }
+        }
+        return failed;
+    }
+
+    public boolean isAllSuccess() {
+        return getSuccessCount() == results.size();
+    }
+
+    /**
+     * One line summary like
+     * <pre>Commands [10], success [9], failed [1], total [1.250] sec, commands [4.100] sec</pre>
+     *
+     * @return summary
+     */
+    public String getSummary() {
+        int success = getSuccessCount();
+        StringBuilder sb = new StringBuilder(96);
+        sb.append("Commands [").append(results.size())
+                .append("], success [").append(success)
+                .append("], failed [").append(getFailures().size())
+                .append("], total [");
+        FormatUtils.appendSecMilli(sb, totalMillis).append("] sec, commands [");
+        return FormatUtils.appendSecMilli(sb, getCommandMillis()).append("] sec").toString();
+    }
+
+    @Override
+    public String toString() {
+        return getSummary();
+    }
+}
@@ -0,0 +1,96 @@
+package com.sv.core.process;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a command run by {@link ProcessRunner}
+ */
+public final class ProcessResult {
+
+    /**
+     * Exit code used when process could not be started or its output could not be read
+     */
+    public static final int NOT_STARTED = -1;
+
+    private final List<String> command;
+    private final int exitCode;
+    private final String stdout, stderr;
+    private final boolean timedOut, truncated;
+    private final long durationMillis;
+
+    ProcessResult(List<String> command, int exitCode, String stdout, String stderr,
+                  boolean timedOut, boolean truncated, long durationMillis) {
+        this.command = Collections.unmodifiableList(command);
+        this.exitCode = exitCode;
+        this.stdout = stdout;
+        this.stderr = stderr;
+        this.timedOut = timedOut;
+        this.truncated = truncated;
+        this.durationMillis = durationMillis;
+    }
+
+    static ProcessResult failed(List<String> command, Throwable reason) {
+        Throwable cause = reason.getCause() != null ? reason.getCause() : reason;
+        return new ProcessResult(command == null ? Collections.emptyList() : command, NOT_STARTED, "", String.valueOf(cause.getMessage()), false, false, 0);
+    }
+
+    public List<String> getCommand() {
+        return command;
+    }
+
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    /**
+     * Empty when output is redirected to file
+     *
+     * @return captured output
+     */
+    public String getStdout() {
+        return stdout;
+    }
+
+    /**
+     * Empty when error is redirected to file or merged with output
+     *
+     * @return captured error
+     */
+    public String getStderr() {
+        return stderr;
+    }
+
+    /**
+     * Process was killed as it did not finish within timeout
+     *
+     * @return boolean status
+     */
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    /**
+     * Output or error was more than captured limit and rest was discarded
+     *
+     * @return boolean status
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public boolean isSuccess() {
+        return !timedOut && exitCode == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "ProcessResult{command=" + command + ", exitCode=" + exitCode
+                + ", timedOut=" + timedOut + ", truncated=" + truncated
+                + ", durationMillis=" + durationMillis + "}";
+    }
+}
@@ -0,0 +1,484 @@
+package com.sv.core.process;
+
+import com.sv.core.Scheduler;
+import com.sv.core.exception.AppException;
+import com.sv.core.io.LineHandler;
+import com.sv.core.io.LineReader;
+import com.sv.core.io.LineRingBuffer;
+import com.sv.core.logger.MyLogger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs commands with `ProcessBuilder`.  Output and error streams are
+ * drained at the same time on daemon threads, so a child filling one pipe
+ * can not block on the other, or they can be redirected to files.
+ * <p>
+ * A runner holds options only and can run many commands concurrently.
+ * Cancelling a returned future kills the process and its descendants.
+ */
+public final class ProcessRunner {
+
+    public static final int DEFAULT_MAX_OUTPUT_CHARS = 1024 * 1024;
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final Output NO_OUTPUT = new Output("", false);
+
+    public enum StreamType {STDOUT, STDERR}
+
+    /**
+     * Receives output lines as they are read, without line separators.
+     * Called from stream threads, so stdout and stderr lines of a
+     * process can arrive concurrently.
+     */
+    @FunctionalInterface
+    public interface LineListener {
+        void onLine(StreamType stream, String line);
+    }
+
+    private final Path directory;
+    private final Map<String, String> environment;
+    private final long timeoutMillis;
+    private final int maxOutputChars, lastLines;
+    private final Charset charset;
+    private final Path redirectOutput, redirectError;
+    private final boolean mergeError;
+    private final MyLogger logger;
+
+    private ProcessRunner(Builder b) {
+        this.directory = b.directory;
+        this.environment = new LinkedHashMap<>(b.environment);
+        this.timeoutMillis = b.timeoutMillis;
+        this.maxOutputChars = b.maxOutputChars;
+        this.lastLines = b.lastLines;
+        this.charset = b.charset;
+        this.redirectOutput = b.redirectOutput;
+        this.redirectError = b.redirectError;
+        this.mergeError = b.mergeError;
+        this.logger = b.logger;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Runs command line after splitting it with {@link #tokenize(String)}
+     *
+     * @param commandLine command with arguments
+     * @return future of result
+     */
+    public CompletableFuture<ProcessResult> execute(String commandLine) {
+        return execute(tokenize(commandLine));
+    }
+
+    public CompletableFuture<ProcessResult> execute(String... command) {
+        return execute(Arrays.asList(command));
+    }
+
+    /**
+     * Starts command and returns without waiting.  If process could
+     * not be started future fails with AppException.
+     *
+     * @param command program and its arguments, used as is
+     * @return future of result
+     */
+    public CompletableFuture<ProcessResult> execute(List<String> command) {
+        return execute(command, null);
+    }
+
+    /**
+     * Starts command and passes each line of output and error to listener
+     * as it arrives.  Lines are captured too, up to max output chars, set
+     * it to zero to only stream.  If listener throws, rest of output is
+     * discarded and future fails with that exception.
+     *
+     * @param command  program and its arguments, used as is
+     * @param listener receives lines, can be null
+     * @return future of result
+     */
+    public CompletableFuture<ProcessResult> execute(List<String> command, LineListener listener) {
+        List<String> cmd = new ArrayList<>(command);
+        if (cmd.isEmpty()) {
+            return failed(new AppException("Command is empty"));
+        }
+        ProcessBuilder pb = new ProcessBuilder(cmd);
+        if (directory != null) {
+            pb.directory(directory.toFile());
+        }
+        pb.environment().putAll(environment);
+        if (redirectOutput != null) {
+            pb.redirectOutput(redirectOutput.toFile());
+        }
+        if (mergeError) {
+            pb.redirectErrorStream(true);
+        } else if (redirectError != null) {
+            pb.redirectError(redirectError.toFile());
+        }
+        if (logger != null) {
+            logger.info("Running command " + cmd);
+        }
+
+        long start = System.nanoTime();
+        Process process;
+        try {
+            process = pb.start();
+        } catch (IOException | RuntimeException e) {
+            if (logger != null) {
+                logger.error(e);
+            }
+            return failed(new AppException(e.getMessage(), e));
+        }
+        closeInput(process);
+
+        AtomicBoolean timedOut = new AtomicBoolean();
+        CompletableFuture<Void> kill = timeoutMillis <= 0 ? null : Scheduler.getDefault().schedule(() -> {
+            if (process.isAlive()) {
+                timedOut.set(true);
+                destroy(process);
+            }
+        }, timeoutMillis, TimeUnit.MILLISECONDS);
+        if (kill != null && kill.isCompletedExceptionally()) {
+            // no timer to stop it, so process is not left running
+            destroy(process);
+            CompletableFuture<ProcessResult> failed = new CompletableFuture<>();
+            kill.whenComplete((v, e) -> failed.completeExceptionally(
+                    new AppException("Unable to schedule timeout for " + cmd, e)));
+            return failed;
+        }
+
+        CompletableFuture<Output> out = redirectOutput != null ? CompletableFuture.completedFuture(NO_OUTPUT)
+                : drainAsync(process.getInputStream(), charset, maxOutputChars, lastLines, StreamType.STDOUT, listener);
+        CompletableFuture<Output> err = mergeError || redirectError != null ? CompletableFuture.completedFuture(NO_OUTPUT)
+                : drainAsync(process.getErrorStream(), charset, maxOutputChars, lastLines, StreamType.STDERR, listener);
+
+        CompletableFuture<Process> exit = process.onExit();
+        if (kill != null) {
+            exit.thenRun(() -> kill.cancel(false));
+        }
+
+        CompletableFuture<ProcessResult> result = CompletableFuture.allOf(exit, out, err).thenApply(v -> {
+            Output o = out.join(), e = err.join();
+            if (o.listenerError != null || e.listenerError != null) {
+                throw new CompletionException(o.listenerError != null ? o.listenerError : e.listenerError);
+            }
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            return new ProcessResult(cmd, process.exitValue(), o.text, e.text,
+                    timedOut.get(), o.truncated || e.truncated, millis);
+        });
+        result.whenComplete((r, e) -> {
+            if (result.isCancelled()) {
+                if (kill != null) {
+                    kill.cancel(false);
+                }
+                destroy(process);
+            } else if (r != null && r.isTimedOut() && logger != null) {
+                logger.warn("Command " + cmd + " killed after timeout of " + timeoutMillis + " ms");
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Splits command line on white spaces.  Text in double quotes
+     * is kept as one argument and quotes are removed, so
+     * <pre>notepad "C:\My Files\a.txt"</pre> gives two arguments.
+     * An unclosed quote runs till end of line.
+     *
+     * @param commandLine to split
+     * @return arguments
+     */
+    public static List<String> tokenize(String commandLine) {
+        List<String> args = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        boolean quoted = false, inArg = false;
+        for (int i = 0; i < commandLine.length(); i++) {
+            char c = commandLine.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+                inArg = true;
+            } else if (!quoted && Character.isWhitespace(c)) {
+                if (inArg) {
+                    args.add(sb.toString());
+                    sb.setLength(0);
+                    inArg = false;
+                }
+            } else {
+                sb.append(c);
+                inArg = true;
+            }
+        }
+        if (inArg) {
+            args.add(sb.toString());
+        }
+        return args;
+    }
+
+    /**
+     * Reads output and error of process in background and discards
+     * them, so that process never blocks on a full pipe
+     *
+     * @param process started process
+     */
+    public static void discardOutput(Process process) {
+        drainAsync(process.getInputStream(), Charset.defaultCharset(), 0, 0, StreamType.STDOUT, null);
+        drainAsync(process.getErrorStream(), Charset.defaultCharset(), 0, 0, StreamType.STDERR, null);
+    }
+
+    /**
+     * Daemon threads used to drain process streams.  Tasks
+     * submitted should end when the stream ends.
+     *
+     * @return executor
+     */
+    public static ExecutorService streamExecutor() {
+        return Threads.STREAMS;
+    }
+
+    private static CompletableFuture<Output> drainAsync(InputStream stream, Charset charset, int maxChars,
+                                                        int lastLines, StreamType type, LineListener listener) {
+        return CompletableFuture.supplyAsync(() -> listener == null && lastLines == 0 ? drain(stream, charset, maxChars)
+                : drainLines(stream, charset, maxChars, lastLines, type, listener), Threads.STREAMS);
+    }
+
+    private static Output drain(InputStream stream, Charset charset, int maxChars) {
+        StringBuilder sb = new StringBuilder(Math.min(maxChars, BUFFER_SIZE));
+        boolean truncated = false;
+        char[] buf = new char[BUFFER_SIZE];
+        try (Reader reader = new InputStreamReader(stream, charset)) {
+            int n;
+            while ((n = reader.read(buf)) != -1) {
+                int keep = Math.min(n, maxChars - sb.length());
+                if (keep > 0) {
+                    sb.append(buf, 0, keep);
+                }
+                if (keep < n && maxChars > 0) {
+                    truncated = true;
+                }
+            }
+        } catch (IOException e) {
+            // stream is closed when process is destroyed, keep what was read
+        }
+        return new Output(sb.toString(), truncated);
+    }
+
+    private static Output drainLines(InputStream stream, Charset charset, int maxChars, int lastLines,
+                                     StreamType type, LineListener listener) {
+        LineCapture capture = new LineCapture(maxChars, lastLines, type, listener);
+        try (Reader reader = new InputStreamReader(stream, charset)) {
+            LineReader.forEachLine(reader, capture);
+        } catch (IOException e) {
+            // stream is closed when process is destroyed, keep what was read
+        }
+        return capture.toOutput();
+    }
+
+    private static void closeInput(Process process) {
+        try {
+            process.getOutputStream().close();
+        } catch (IOException e) {
+            // process has already exited
+        }
+    }
+
+    private static CompletableFuture<ProcessResult> failed(AppException e) {
+        CompletableFuture<ProcessResult> failed = new CompletableFuture<>();
+        failed.completeExceptionally(e);
+        return failed;
+    }
+
+    private static void destroy(Process process) {
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+    }
+
+    private static final class LineCapture implements LineHandler<CharSequence> {
+        private final int maxChars;
+        private final StringBuilder sb;
+        private final LineRingBuffer ring;
+        private final StreamType type;
+        private final LineListener listener;
+        private boolean truncated;
+        private RuntimeException listenerError;
+
+        LineCapture(int maxChars, int lastLines, StreamType type, LineListener listener) {
+            this.maxChars = maxChars;
+            this.ring = lastLines > 0 ? new LineRingBuffer(lastLines) : null;
+            this.sb = ring == null ? new StringBuilder(Math.min(maxChars, BUFFER_SIZE)) : null;
+            this.type = type;
+            this.listener = listener;
+        }
+
+        @Override
+        public boolean onLine(CharSequence line, long lineNumber) {
+            if (listener != null && listenerError == null) {
+                try {
+                    listener.onLine(type, line.toString());
+                } catch (RuntimeException e) {
+                    listenerError = e;
+                }
+            }
+            if (ring != null) {
+                ring.add(line);
+            } else {
+                int keep = Math.min(line.length() + 1, maxChars - sb.length());
+                if (keep > line.length()) {
+                    sb.append(line).append('\n');
+                } else {
+                    sb.append(line, 0, Math.max(keep, 0));
+                    truncated = maxChars > 0;
+                }
+            }
+            // keep reading after listener failure so process does not block
+            return true;
+        }
+
+        Output toOutput() {
+            Output o = ring == null ? new Output(sb.toString(), truncated)
+                    : new Output(ring.toString(), ring.isTruncated());
+            o.listenerError = listenerError;
+            return o;
+        }
+    }
+
+    private static final class Output {
+        private final String text;
+        private final boolean truncated;
+        private RuntimeException listenerError;
+
+        Output(String text, boolean truncated) {
+            this.text = text;
+            this.truncated = truncated;
+        }
+    }
+
+    // created on first use so that loading runner does not start threads
+    private static final class Threads {
+        private static final ExecutorService STREAMS = Executors.newCachedThreadPool(daemon("process-stream-"));
+
+        private static ThreadFactory daemon(String prefix) {
+            AtomicInteger count = new AtomicInteger();
+            return r -> {
+                Thread t = new Thread(r, prefix + count.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            };
+        }
+    }
+
+    public static final class Builder {
+        private Path directory;
+        private final Map<String, String> environment = new LinkedHashMap<>();
+        private long timeoutMillis;
+        private int maxOutputChars = DEFAULT_MAX_OUTPUT_CHARS;
+        private int lastLines;
+        private Charset charset = Charset.defaultCharset();
+        private Path redirectOutput, redirectError;
+        private boolean mergeError;
+        private MyLogger logger;
+
+        private Builder() {
+        }
+
+        public Builder directory(Path directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        public Builder environment(String name, String value) {
+            environment.put(name, value);
+            return this;
+        }
+
+        /**
+         * Process and its descendants are killed if not finished
+         * in time.  Zero, the default, waits forever.
+         *
+         * @param timeout duration
+         * @param unit    of duration
+         * @return this builder
+         */
+        public Builder timeout(long timeout, TimeUnit unit) {
+            this.timeoutMillis = unit.toMillis(timeout);
+            return this;
+        }
+
+        /**
+         * Chars kept of each stream, rest is read and discarded.
+         * Zero keeps nothing and never marks result truncated.
+         *
+         * @param maxOutputChars limit per stream
+         * @return this builder
+         */
+        public Builder maxOutputChars(int maxOutputChars) {
+            this.maxOutputChars = Math.max(maxOutputChars, 0);
+            return this;
+        }
+
+        /**
+         * Captures only the last lines of each stream instead of
+         * the first max output chars, like a tail of a log.
+         * Zero, the default, turns it off.
+         *
+         * @param lastLines lines to keep per stream
+         * @return this builder
+         */
+        public Builder keepLastLines(int lastLines) {
+            this.lastLines = Math.max(lastLines, 0);
+            return this;
+        }
+
+        public Builder charset(Charset charset) {
+            this.charset = charset;
+            return this;
+        }
+
+        public Builder redirectOutput(Path file) {
+            this.redirectOutput = file;
+            return this;
+        }
+
+        public Builder redirectError(Path file) {
+            this.redirectError = file;
+            return this;
+        }
+
+        /**
+         * Error stream is captured along with output
+         *
+         * @param mergeError true to merge
+         * @return this builder
+         */
+        public Builder mergeError(boolean mergeError) {
+            this.mergeError = mergeError;
+            return this;
+        }
+
+        public Builder logger(MyLogger logger) {
+            this.logger = logger;
+            return this;
+        }
+
+        public ProcessRunner build() {
+            return new ProcessRunner(this);
+        }
+    }
+}